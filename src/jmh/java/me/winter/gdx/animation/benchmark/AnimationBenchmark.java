@@ -0,0 +1,130 @@
+package me.winter.gdx.animation.benchmark;
+
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.utils.Array;
+import me.winter.gdx.animation.AnimatedPart;
+import me.winter.gdx.animation.Animation;
+import me.winter.gdx.animation.Box;
+import me.winter.gdx.animation.Entity;
+import me.winter.gdx.animation.RecordingBatch;
+import me.winter.gdx.animation.SCMLGenerator;
+import me.winter.gdx.animation.drawable.SpriteVertexBuffer;
+import me.winter.gdx.animation.math.Curve.CurveType;
+import me.winter.gdx.animation.scml.SCMLProject;
+import me.winter.gdx.animation.scml.SCMLReader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of loading, playing, drawing and copying animations. Projects are generated by {@link SCMLGenerator} with
+ * a single animation of the given bone tree and sprites, a timeline each, with the given amount of keys per timeline.
+ * Most keys are linear, and sprites swap their z-index at a quarter of the mainline keys.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AnimationBenchmark {
+    @Param({ "1", "3", "5" })
+    public int boneDepth;
+
+    @Param({ "2", "4" })
+    public int boneFanOut;
+
+    @Param({ "1", "4" })
+    public int spritesPerBone;
+
+    @Param({ "4", "32" })
+    public int keys;
+
+    private String xml;
+    private TextureAtlas atlas;
+
+    private Entity entity;
+    private Animation animation;
+
+    private final RecordingBatch batch = new RecordingBatch();
+    private final SpriteVertexBuffer buffer = new SpriteVertexBuffer();
+    private final Box box = new Box();
+
+    @Setup(Level.Trial)
+    public void setup() {
+        SCMLGenerator generator = new SCMLGenerator();
+        generator.setBoneDepth(boneDepth);
+        generator.setBoneFanOut(boneFanOut);
+        generator.setSpritesPerBone(spritesPerBone);
+        generator.setKeysPerTimeline(keys);
+        generator.setCurveWeight(CurveType.LINEAR, 4f);
+        generator.setCurveWeight(CurveType.BEZIER, 1f);
+        generator.setCurveWeight(CurveType.INSTANT, 1f);
+        generator.setZSwapFrequency(0.25f);
+
+        xml = generator.generate();
+        atlas = generator.createAtlas();
+
+        SCMLReader reader = new SCMLReader();
+        reader.setAtlas(atlas);
+        entity = reader.load(xml).getEntity(0);
+
+        animation = entity.getAnimation(0);
+        animation.startPlay();
+        animation.update(0f);
+    }
+
+    @Benchmark
+    public SCMLProject load() {
+        SCMLReader reader = new SCMLReader();
+        reader.setAtlas(atlas);
+        return reader.load(xml);
+    }
+
+    @Benchmark
+    public float update() {
+        //a frame at 60 fps, not a divisor of the length so that every frame lands at a different time
+        animation.update(16.7f);
+        return animation.getTime();
+    }
+
+    @Benchmark
+    public float draw() {
+        batch.reset();
+        animation.draw(batch);
+        return batch.getChecksum();
+    }
+
+    @Benchmark
+    public float drawBuffered() {
+        batch.reset();
+        animation.draw(batch, buffer);
+        return batch.getChecksum();
+    }
+
+    @Benchmark
+    public void calcBoxes(Blackhole blackhole) {
+        Array<AnimatedPart> parts = animation.getParts();
+        for (int i = 0; i < parts.size; i++) {
+            box.calcFor(parts.get(i));
+            blackhole.consume(box.points[3].x);
+        }
+    }
+
+    @Benchmark
+    public Entity copy() {
+        return new Entity(entity);
+    }
+}
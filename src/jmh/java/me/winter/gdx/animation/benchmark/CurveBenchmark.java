@@ -0,0 +1,106 @@
+package me.winter.gdx.animation.benchmark;
+
+import me.winter.gdx.animation.math.Curve;
+import me.winter.gdx.animation.math.Curve.CurveType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of tweening values with each type of curve, through its evaluator and through the former switch on the
+ * type of {@link LegacyCurve}, and of easing weights one by one or in batch. Each invocation goes through a fixed set of
+ * random weights, the results are per weight.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CurveBenchmark {
+    private static final int SAMPLES = 1024;
+
+    @Param
+    public CurveType type;
+
+    private Curve curve;
+    private LegacyCurve legacyCurve;
+    private final float[] weights = new float[SAMPLES];
+    private final float[] eased = new float[SAMPLES];
+
+    @Setup(Level.Trial)
+    public void setup() {
+        curve = new Curve(type);
+        curve.constraints.set(0.25f, 0.1f, 0.25f, 1f);
+        legacyCurve = new LegacyCurve(type, 0.25f, 0.1f, 0.25f, 1f);
+
+        Random random = new Random(42);
+        for (int i = 0; i < SAMPLES; i++)
+            weights[i] = random.nextFloat();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SAMPLES)
+    public float interpolate() {
+        float sum = 0f;
+        for (int i = 0; i < SAMPLES; i++)
+            sum += curve.interpolate(10f, 250f, weights[i]);
+        return sum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SAMPLES)
+    public float interpolateAngle() {
+        float sum = 0f;
+        for (int i = 0; i < SAMPLES; i++)
+            sum += curve.interpolateAngle(350f, 20f, weights[i], 1);
+        return sum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SAMPLES)
+    public float interpolateLegacy() {
+        float sum = 0f;
+        for (int i = 0; i < SAMPLES; i++)
+            sum += legacyCurve.interpolate(10f, 250f, weights[i]);
+        return sum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SAMPLES)
+    public float interpolateAngleLegacy() {
+        float sum = 0f;
+        for (int i = 0; i < SAMPLES; i++)
+            sum += legacyCurve.interpolateAngle(350f, 20f, weights[i], 1);
+        return sum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SAMPLES)
+    public float[] ease() {
+        for (int i = 0; i < SAMPLES; i++)
+            eased[i] = curve.ease(weights[i]);
+        return eased;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SAMPLES)
+    public float[] easeBatch() {
+        System.arraycopy(weights, 0, eased, 0, SAMPLES);
+        curve.ease(eased, 0, SAMPLES);
+        return eased;
+    }
+}
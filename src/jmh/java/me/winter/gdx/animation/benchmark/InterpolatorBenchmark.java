@@ -0,0 +1,62 @@
+package me.winter.gdx.animation.benchmark;
+
+import me.winter.gdx.animation.math.Interpolator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of solving the cubic equations of bezier curves, x(t) = weight for random control points and weights. Only
+ * equations the solver finds a root of in [0, 1] are kept, the results are per equation.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InterpolatorBenchmark {
+    private static final int SAMPLES = 1024;
+
+    private final float[] coefficients = new float[SAMPLES * 4];
+
+    @Setup(Level.Trial)
+    public void setup() {
+        Random random = new Random(42);
+        for (int i = 0; i < SAMPLES; ) {
+            float x1 = random.nextFloat(), x2 = random.nextFloat();
+            float a = 3f * x1 - 3f * x2 + 1f, b = -6f * x1 + 3f * x2, c = 3f * x1, d = -random.nextFloat();
+
+            if (Interpolator.solveCubic(a, b, c, d) == -1)
+                continue;
+
+            coefficients[i * 4] = a;
+            coefficients[i * 4 + 1] = b;
+            coefficients[i * 4 + 2] = c;
+            coefficients[i * 4 + 3] = d;
+            i++;
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SAMPLES)
+    public float solveCubic() {
+        float sum = 0f;
+        for (int i = 0; i < SAMPLES; i++)
+            sum += Interpolator.solveCubic(coefficients[i * 4], coefficients[i * 4 + 1],
+                    coefficients[i * 4 + 2], coefficients[i * 4 + 3]);
+        return sum;
+    }
+}
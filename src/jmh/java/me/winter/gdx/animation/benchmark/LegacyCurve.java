@@ -0,0 +1,69 @@
+package me.winter.gdx.animation.benchmark;
+
+import me.winter.gdx.animation.math.Curve.CurveType;
+
+import static me.winter.gdx.animation.math.Interpolator.bezier;
+import static me.winter.gdx.animation.math.Interpolator.cubic;
+import static me.winter.gdx.animation.math.Interpolator.linear;
+import static me.winter.gdx.animation.math.Interpolator.quadratic;
+import static me.winter.gdx.animation.math.Interpolator.quartic;
+import static me.winter.gdx.animation.math.Interpolator.quintic;
+import static me.winter.gdx.animation.math.Interpolator.solveCubic;
+
+/**
+ * Copy of the tweening of curves before evaluators, switching on the type for every value and solving the cubic of
+ * bezier curves each time. Kept as baseline of {@link CurveBenchmark}.
+ */
+final class LegacyCurve {
+    private final CurveType type;
+    private final float c1, c2, c3, c4;
+
+    private float lastCubicSolution = 0f;
+
+    LegacyCurve(CurveType type, float c1, float c2, float c3, float c4) {
+        this.type = type;
+        this.c1 = c1;
+        this.c2 = c2;
+        this.c3 = c3;
+        this.c4 = c4;
+    }
+
+    float interpolateAngle(float a, float b, float value, int spin) {
+        if (spin > 0) {
+            if (b - a < 0)
+                b += 360;
+        } else if (spin < 0) {
+            if (b - a > 0)
+                b -= 360;
+        } else
+            return a;
+
+        return interpolate(a, b, value);
+    }
+
+    float interpolate(float a, float b, float value) {
+        switch (type) {
+            case INSTANT:
+                return a;
+            case LINEAR:
+                return linear(a, b, value);
+            case QUADRATIC:
+                return quadratic(a, linear(a, b, c1), b, value);
+            case CUBIC:
+                return cubic(a, linear(a, b, c1), linear(a, b, c2), b, value);
+            case QUARTIC:
+                return quartic(a, linear(a, b, c1), linear(a, b, c2), linear(a, b, c3), b, value);
+            case QUINTIC:
+                return quintic(a, linear(a, b, c1), linear(a, b, c2), linear(a, b, c3), linear(a, b, c4), b, value);
+            case BEZIER:
+                float cubicSolution = solveCubic(3f * (c1 - c3) + 1f, 3f * (c3 - 2f * c1), 3f * c1, -value);
+                if (cubicSolution == -1)
+                    cubicSolution = lastCubicSolution;
+                else
+                    lastCubicSolution = cubicSolution;
+                return linear(a, b, bezier(cubicSolution, 0f, c2, c4, 1f));
+            default:
+                return linear(a, b, value);
+        }
+    }
+}
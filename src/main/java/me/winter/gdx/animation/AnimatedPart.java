@@ -1,5 +1,6 @@
 package me.winter.gdx.animation;
 
+import com.badlogic.gdx.math.MathUtils;
 import com.badlogic.gdx.math.Vector2;
 
 import static java.lang.Math.signum;
@@ -15,6 +16,13 @@ public class AnimatedPart {
     public final Vector2 position, scale;
     public float angle;
 
+    /**
+     * Rotation and scale of the 2x3 affine matrix of this part, the translation being its {@link #position}. Cached
+     * along the angle and scale it was computed from, so that children mapped on this part share its sine and cosine.
+     */
+    private float m00 = 1f, m01 = 0f, m10 = 0f, m11 = 1f, flip = 1f;
+    private float matrixAngle = 0f, matrixScaleX = 1f, matrixScaleY = 1f;
+
     /**
      * Constructor for root
      */
@@ -51,12 +59,37 @@ public class AnimatedPart {
      * @param parent the parent bone of this bone
      */
     public void unmap(AnimatedPart parent) {
-        this.angle *= signum(parent.scale.x) * signum(parent.scale.y);
-        this.angle += parent.angle;
+        parent.updateMatrix();
+
+        float x = this.position.x;
+        float y = this.position.y;
+
+        this.angle = this.angle * parent.flip + parent.angle;
         this.scale.scl(parent.scale);
-        this.position.scl(parent.scale);
-        this.position.rotate(parent.angle);
-        this.position.add(parent.position);
+        this.position.set(parent.m00 * x + parent.m01 * y + parent.position.x,
+                parent.m10 * x + parent.m11 * y + parent.position.y);
+    }
+
+    /**
+     * Recomputes the rotation and scale of the matrix of this part if its angle or scale changed since last time.
+     */
+    private void updateMatrix() {
+        if (angle == matrixAngle && scale.x == matrixScaleX && scale.y == matrixScaleY)
+            return;
+
+        float radians = angle * MathUtils.degreesToRadians;
+        float cos = (float) Math.cos(radians);
+        float sin = (float) Math.sin(radians);
+
+        m00 = cos * scale.x;
+        m01 = -sin * scale.y;
+        m10 = sin * scale.x;
+        m11 = cos * scale.y;
+        flip = signum(scale.x) * signum(scale.y);
+
+        matrixAngle = angle;
+        matrixScaleX = scale.x;
+        matrixScaleY = scale.y;
     }
 
     @Override
@@ -1,6 +1,7 @@
 package me.winter.gdx.animation;
 
 import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.Batch;
 import com.badlogic.gdx.math.Rectangle;
 import com.badlogic.gdx.math.Vector2;
@@ -8,13 +9,21 @@ import com.badlogic.gdx.utils.Array;
 import com.badlogic.gdx.utils.Null;
 import com.badlogic.gdx.utils.ObjectMap;
 
+import me.winter.gdx.animation.drawable.AnimationSpriteDrawable;
+import me.winter.gdx.animation.drawable.SpriteDrawable;
+import me.winter.gdx.animation.drawable.SpriteVertexBuffer;
 import me.winter.gdx.animation.drawable.TintedSpriteDrawable;
-import me.winter.gdx.animation.math.Curve;
+import me.winter.gdx.animation.drawable.VertexSpriteDrawable;
 
+import java.nio.ByteBuffer;
+import java.util.Arrays;
 import java.util.Comparator;
 import java.util.Map;
 import java.util.function.Consumer;
 
+import static me.winter.gdx.animation.math.Interpolator.linear;
+import static me.winter.gdx.animation.math.Interpolator.spinAngle;
+
 /**
  * Represents an animation of a Spriter SCML file. An animation holds {@link Timeline}s and a {@link Mainline} to
  * animate objects. Furthermore it holds a {@link #length}, a {@link #name} and whether it is {@link
@@ -29,12 +38,16 @@ public class Animation {
     private final String name;
     private final int length; // millis
     private boolean looping = false;
+    private final boolean sourceLooping;
 
     private final Mainline mainline;
     private final Array<Timeline> timelines;
+    private final NameIndex<Timeline> timelineIndex;
 
     private final Array<AnimatedPart> tweenedObjects; //sprites made on runtime by tweening original sprites from animation
     private final Array<Sprite> sprites;
+    private final Array<BoxPart> boxes = new Array<>(false, 4);
+    private final Array<PointPart> points = new Array<>(false, 4);
 
     private final ObjectMap<String, Consumer<AnimatedPart>> transformations = new ObjectMap<>();
 
@@ -47,10 +60,53 @@ public class Animation {
     private final AnimatedPart root = new AnimatedPart();
 
     private boolean zIndexChanged = false;
+    private boolean simulationOnly = false;
 
     private final Rectangle rectangle = new Rectangle();
     private final RectF rect = new RectF();
     private final Box prevBBox = new Box();
+    private final AnimatedPart keyPart = new AnimatedPart();
+    private final Sprite keySprite = new Sprite();
+
+    private final RectF bounds = new RectF();
+    private boolean boundsDirty = true;
+
+    private final Color color = new Color(), tint = new Color(), overrideTint = new Color();
+
+    private SpriteOverrides overrides;
+    private int overridesVersion = -1;
+    private final SpriteDrawable[] timelineDrawables;
+    private final int[] timelineTints;
+
+    private RenderQueue renderQueue;
+    private int renderLayer = 0, renderDepth = 0;
+
+    /**
+     * Time nested animations are updated by, the time this animation moved by in the current update
+     */
+    private float childDelta = 0f;
+
+    /**
+     * Copies of the nested animations of the sprites, by timeline, along with the drawable they were copied for. See
+     * {@link #childOf(AnimationSpriteDrawable, Sprite)}
+     */
+    private final Animation[] children;
+    private final AnimationSpriteDrawable[] childDrawables;
+
+    private final Array<Sprite> drawOrder = new Array<>();
+    private boolean textureGrouping = false;
+    private int textureSwitches = 0, textureSwitchesSaved = 0;
+    private Sprite[] drawSprites = new Sprite[0];
+    private Texture[] drawTextures = new Texture[0];
+    private float[] drawBounds = new float[0];
+    private int[] drawIndices = new int[0];
+
+    private boolean timeIndexed = false;
+    private int timeIndexMaxEntries = TimeIndex.DEFAULT_MAX_ENTRIES;
+    private TimeIndex timeIndex;
+
+    private ObjectRef[] sampleChain = new ObjectRef[0];
+    private final AnimatedPart[] sampleParts = { new AnimatedPart(), new AnimatedPart() };
 
     private boolean isCanPlay = false;
     private boolean isCanAutoUpdate = true;
@@ -64,19 +120,36 @@ public class Animation {
 
         this.length = length;
         this.looping = looping;
+        this.sourceLooping = looping;
 
         this.mainline = mainline;
         this.timelines = timelines;
+        this.timelineIndex = new NameIndex<>(timelines, Timeline::getName);
 
         tweenedObjects = new Array<>();
         tweenedObjects.setSize(timelines.size);
         sprites = new Array<>();
+        timelineDrawables = new SpriteDrawable[timelines.size];
+        children = new Animation[timelines.size];
+        childDrawables = new AnimationSpriteDrawable[timelines.size];
+        timelineTints = new int[timelines.size];
 
         for (Timeline timeline : timelines) {
-            if (timeline.getKeys().size > 0 && timeline.getKeys().get(0).getObject() instanceof Sprite) {
+            AnimatedPart first = timeline.getKeys().size > 0 ? timeline.getKeys().get(0).getObject() : null;
+
+            if (first instanceof Sprite) {
                 Sprite sprite = new Sprite();
+                sprite.setTimeline(timeline.getId());
                 tweenedObjects.set(timeline.getId(), sprite);
                 sprites.add(sprite);
+            } else if (first instanceof BoxPart) {
+                BoxPart box = new BoxPart((BoxPart) first);
+                tweenedObjects.set(timeline.getId(), box);
+                boxes.add(box);
+            } else if (first instanceof PointPart) {
+                PointPart point = new PointPart((PointPart) first);
+                tweenedObjects.set(timeline.getId(), point);
+                points.add(point);
             } else
                 tweenedObjects.set(timeline.getId(), new AnimatedPart());
         }
@@ -88,49 +161,385 @@ public class Animation {
                 animation.looping,
                 new Mainline(animation.mainline),
                 Timeline.clone(animation.timelines));
+
+        //the keys have the same times, share the index
+        timeIndexed = animation.timeIndexed;
+        timeIndex = animation.timeIndexed ? animation.getTimeIndex() : animation.timeIndex;
+        timeIndexMaxEntries = animation.timeIndexMaxEntries;
     }
 
     public void draw(Batch batch) {
-        if (zIndexChanged) {
-            sprites.sort(SPRITE_COMPARATOR);
-            zIndexChanged = false;
-        }
+        prepareDrawOrder();
 
         float prevColor = batch.getPackedColor();
         Color tmp = batch.getColor();
         tmp.a *= alpha;
         batch.setColor(tmp);
 
-        for (Sprite sprite : sprites)
-            sprite.draw(batch);
+        for (int i = 0; i < drawOrder.size; i++)
+            drawOverridden(drawOrder.get(i), batch);
+
+        batch.setPackedColor(prevColor);
+    }
+
+    /**
+     * Draws this animation like {@link #draw(Batch)} but writes the vertices of the sprites in the given buffer,
+     * submitting them in runs of the same texture instead of drawing and pushing the batch color for every sprite.
+     * The result is the same as {@link #draw(Batch)}. Sprites whose drawable isn't a {@link VertexSpriteDrawable} are
+     * drawn the usual way.
+     *
+     * @param batch  batch to draw to
+     * @param buffer buffer to write vertices to, can be shared by many animations
+     */
+    public void draw(Batch batch, SpriteVertexBuffer buffer) {
+        prepareDrawOrder();
+
+        float prevColor = batch.getPackedColor();
+
+        //color the batch would have while drawing sprites, restored to its packed value after each of them
+        Color color = this.color.set(batch.getColor());
+        color.a *= alpha;
+        float packedColor = color.toFloatBits();
+
+        for (int i = 0; i < drawOrder.size; i++) {
+            Sprite sprite = drawOrder.get(i);
+            SpriteDrawable drawable = drawableOf(sprite);
+            Texture texture = textureOf(sprite);
+
+            if (texture != null) {
+                int offset = buffer.add(batch, texture);
+                ((VertexSpriteDrawable) drawable).writeVertices(sprite, tintOf(sprite, tint.set(color)), buffer.getVertices(), offset);
+                Color.abgr8888ToColor(color, packedColor);
+            } else {
+                buffer.flush(batch);
+                batch.setColor(color);
+                drawOverridden(sprite, batch);
+                color.set(batch.getColor());
+                packedColor = batch.getPackedColor();
+            }
+        }
+
+        buffer.flush(batch);
+        batch.setPackedColor(prevColor);
+    }
+
+    /**
+     * Fills {@link #drawOrder} with the visible sprites in the order they are drawn, grouping them by texture if
+     * enabled, and counts the texture switches of that order.
+     */
+    private void prepareDrawOrder() {
+        sortSprites();
+        resolveOverrides();
+
+        drawOrder.clear();
+        for (int i = 0; i < sprites.size; i++) {
+            Sprite sprite = sprites.get(i);
+            if (sprite.isVisible() && drawableOf(sprite) != null)
+                drawOrder.add(sprite);
+        }
+
+        textureSwitches = countTextureSwitches();
+        textureSwitchesSaved = 0;
+
+        if (!textureGrouping || drawOrder.size < 3)
+            return;
+
+        int count = drawOrder.size;
+        if (drawIndices.length < count) {
+            drawSprites = new Sprite[count];
+            drawTextures = new Texture[count];
+            drawBounds = new float[count * 4];
+            drawIndices = new int[count];
+        }
+
+        for (int i = 0; i < count; i++) {
+            Sprite sprite = drawOrder.get(i);
+            drawTextures[i] = textureOf(sprite);
+            prevBBox.calcFor(sprite, drawableOf(sprite));
+            RectF rect = prevBBox.getBoundingRect();
+            drawBounds[i * 4] = rect.left;
+            drawBounds[i * 4 + 1] = rect.top;
+            drawBounds[i * 4 + 2] = rect.right;
+            drawBounds[i * 4 + 3] = rect.bottom;
+        }
+
+        //greedy grouping: a sprite moves back right after the last sprite of its texture, as long as it doesn't pass
+        //over a sprite it overlaps. Sprites that overlap are thus drawn in their original order.
+        for (int i = 0; i < count; i++) {
+            int insertAt = i;
+            Texture texture = drawTextures[i];
+
+            if (texture != null) {
+                for (int j = i - 1; j >= 0; j--) {
+                    int other = drawIndices[j];
+                    if (drawTextures[other] == texture) {
+                        insertAt = j + 1;
+                        break;
+                    }
+                    if (drawTextures[other] == null || overlaps(other, i))
+                        break;
+                }
+            }
+
+            System.arraycopy(drawIndices, insertAt, drawIndices, insertAt + 1, i - insertAt);
+            drawIndices[insertAt] = i;
+        }
+
+        for (int i = 0; i < count; i++)
+            drawSprites[i] = drawOrder.get(drawIndices[i]);
+        for (int i = 0; i < count; i++) {
+            drawOrder.set(i, drawSprites[i]);
+            drawSprites[i] = null;
+            drawTextures[i] = null;
+        }
+
+        int grouped = countTextureSwitches();
+        textureSwitchesSaved = textureSwitches - grouped;
+        textureSwitches = grouped;
+    }
+
+    private boolean overlaps(int a, int b) {
+        float[] bounds = drawBounds;
+        return bounds[a * 4] < bounds[b * 4 + 2] && bounds[b * 4] < bounds[a * 4 + 2]
+                && bounds[a * 4 + 1] < bounds[b * 4 + 3] && bounds[b * 4 + 1] < bounds[a * 4 + 3];
+    }
+
+    /**
+     * Counts the texture switches drawing {@link #drawOrder} takes. A sprite without a known texture, like a nested
+     * animation, counts as a switch and breaks the run it interrupts.
+     */
+    private int countTextureSwitches() {
+        int switches = 0;
+        Texture last = null;
+        for (int i = 0; i < drawOrder.size; i++) {
+            Texture texture = textureOf(drawOrder.get(i));
+            if (texture == null || texture != last)
+                switches++;
+            last = texture;
+        }
+        return switches;
+    }
+
+    @Null
+    private Texture textureOf(Sprite sprite) {
+        SpriteDrawable drawable = drawableOf(sprite);
+        return drawable instanceof VertexSpriteDrawable ? ((VertexSpriteDrawable) drawable).getTexture(sprite) : null;
+    }
+
+    /**
+     * Sets the overrides of the drawables and tints of the sprites of this animation, see {@link SpriteOverrides}.
+     * They are looked up when drawing, the keys of this animation are left untouched.
+     *
+     * @param overrides overrides to draw with, can be shared by many animations, null for none
+     */
+    public void setOverrides(@Null SpriteOverrides overrides) {
+        this.overrides = overrides;
+        this.overridesVersion = -1;
+        this.boundsDirty = true;
+    }
+
+    @Null
+    public SpriteOverrides getOverrides() {
+        return overrides;
+    }
 
+    /**
+     * Resolves the drawable and tint overrides of each timeline if the overrides changed since last time, the bounds
+     * then have to be measured again with the new drawables
+     */
+    private void resolveOverrides() {
+        if (overrides == null || overrides.getVersion() == overridesVersion)
+            return;
+
+        boundsDirty = true;
+
+        for (int i = 0; i < timelines.size; i++) {
+            Timeline timeline = timelines.get(i);
+            timelineDrawables[timeline.getId()] = overrides.getDrawable(timeline.getName());
+            timelineTints[timeline.getId()] = SpriteOverrides.mulTint(overrides.getTint(timeline.getName()), overrides.getTint());
+        }
+        overridesVersion = overrides.getVersion();
+    }
+
+    /**
+     * @return the drawable the given tweened sprite is drawn with, accounting for overrides
+     */
+    @Null
+    private SpriteDrawable drawableOf(Sprite sprite) {
+        if (overrides == null || sprite.getTimeline() == -1)
+            return sprite.getDrawable();
+
+        SpriteDrawable drawable = timelineDrawables[sprite.getTimeline()];
+        if (drawable != null)
+            return drawable;
+
+        return overrides.getImageDrawable(sprite.getFolder(), sprite.getFile(), sprite.getDrawable());
+    }
+
+    /**
+     * Multiplies the given color by the tint override of the given tweened sprite
+     */
+    private Color tintOf(Sprite sprite, Color color) {
+        if (overrides == null || sprite.getTimeline() == -1 || timelineTints[sprite.getTimeline()] == SpriteOverrides.NO_TINT)
+            return color;
+
+        Color.rgba8888ToColor(overrideTint, timelineTints[sprite.getTimeline()]);
+        return color.mul(overrideTint);
+    }
+
+    /**
+     * Draws a sprite with its overridden drawable, pushing its tint override on the batch if it has one
+     */
+    private void drawOverridden(Sprite sprite, Batch batch) {
+        SpriteDrawable drawable = drawableOf(sprite);
+
+        if (overrides == null || sprite.getTimeline() == -1 || timelineTints[sprite.getTimeline()] == SpriteOverrides.NO_TINT) {
+            draw(drawable, sprite, batch);
+            return;
+        }
+
+        float prevColor = batch.getPackedColor();
+        batch.setColor(tintOf(sprite, batch.getColor()));
+        draw(drawable, sprite, batch);
         batch.setPackedColor(prevColor);
     }
 
     /**
-     * update this player.
+     * Draws a sprite with the given drawable, nested animations being drawn through the copy of this animation
+     */
+    private void draw(SpriteDrawable drawable, Sprite sprite, Batch batch) {
+        if (drawable instanceof AnimationSpriteDrawable)
+            childOf((AnimationSpriteDrawable) drawable, sprite).draw(batch);
+        else
+            drawable.draw(sprite, batch);
+    }
+
+    /**
+     * Sets whether sprites are grouped by texture when drawing. Sprites are moved next to sprites of the same texture
+     * only when they don't overlap any sprite they are moved over, so the result looks the same while the batch
+     * flushes less often with multi-page atlases. Overlap is tested on the bounding boxes of the sprites.
+     *
+     * @param textureGrouping true to group sprites by texture, false to draw them by z-index only
+     */
+    public void setTextureGrouping(boolean textureGrouping) {
+        this.textureGrouping = textureGrouping;
+    }
+
+    public boolean isTextureGrouping() {
+        return textureGrouping;
+    }
+
+    /**
+     * Returns the amount of texture switches of the last draw, each one being a batch flush unless the texture is
+     * already bound. Computed without drawing, so it's also meaningful without a GL context.
+     *
+     * @return texture switches of the last call to {@link #draw(Batch)} or {@link #draw(Batch, SpriteVertexBuffer)}
+     */
+    public int getTextureSwitches() {
+        return textureSwitches;
+    }
+
+    /**
+     * @return texture switches grouping by texture saved on the last draw, always 0 if grouping is disabled
+     */
+    public int getTextureSwitchesSaved() {
+        return textureSwitchesSaved;
+    }
+
+    /**
+     * Writes the visible sprites of the current tweened pose as commands of the given queue. Nested animations are
+     * written with the z-index of their sprite, in their own order. Sprites whose drawable isn't a {@link
+     * VertexSpriteDrawable} or an {@link AnimationSpriteDrawable} can't be queued and are skipped.
      *
-     * @param time
+     * @param queue queue to write to
+     * @param layer layer of the commands
+     * @param depth depth of this animation in its layer
+     */
+    public void submit(RenderQueue queue, int layer, int depth) {
+        submit(queue, layer, depth, -1, queue.getColor());
+    }
+
+    /**
+     * Writes the visible sprites as commands of the given queue. Sprites drawn by a nested animation are replaced by
+     * the commands of that animation.
+     *
+     * @param zIndex z-index of the commands for a nested animation, -1 to use the z-index of each sprite
+     * @param color  color of the commands before the alpha of this animation
+     */
+    private void submit(RenderQueue queue, int layer, int depth, int zIndex, Color color) {
+        sortSprites();
+        resolveOverrides();
+
+        this.color.set(color);
+        this.color.a *= alpha;
+
+        for (int i = 0; i < sprites.size; i++) {
+            Sprite sprite = sprites.get(i);
+            SpriteDrawable drawable = drawableOf(sprite);
+            if (drawable == null || !sprite.isVisible())
+                continue;
+
+            int z = zIndex != -1 ? zIndex : sprite.getZIndex();
+
+            if (drawable instanceof AnimationSpriteDrawable) {
+                childOf((AnimationSpriteDrawable) drawable, sprite).submit(queue, layer, depth, z, tintOf(sprite, tint.set(this.color)));
+                continue;
+            }
+
+            Texture texture = textureOf(sprite);
+            if (texture == null)
+                continue;
+
+            int offset = zIndex != -1 ? queue.addOrdered(layer, depth, z, texture) : queue.add(layer, depth, z, texture);
+            ((VertexSpriteDrawable) drawable).writeVertices(sprite, tintOf(sprite, tint.set(this.color)), queue.getVertices(), offset);
+        }
+    }
+
+    /**
+     * Sets a queue the sprites of this animation are submitted to after each update, see {@link #submit(RenderQueue,
+     * int, int)}. With a queue, the animation is rendered by {@link RenderQueue#render(Batch)} and {@link #draw(Batch)}
+     * shouldn't be called.
+     *
+     * @param queue queue to submit to, null to stop submitting
+     * @param layer layer of the commands
+     * @param depth depth of this animation in its layer
+     */
+    public void setRenderQueue(RenderQueue queue, int layer, int depth) {
+        this.renderQueue = queue;
+        this.renderLayer = layer;
+        this.renderDepth = depth;
+    }
+
+    public RenderQueue getRenderQueue() {
+        return renderQueue;
+    }
+
+    /**
+     * Updates this player to the given time. Nested animations are updated by the difference between the given time
+     * and the current one, if this animation is playing.
+     *
+     * @param time time in milliseconds, wrapped or clamped like {@link #setTime(float)}
      */
     public void updateByTime(float time) {
         if (!looping && currentKey != null && currentKey.second == mainline.getKeys().size - 1) {
             pausePlay();
         }
+        float delta = 0f;
         if (isCanPlay) {
+            delta = time - this.time;
             setTime(time);
         }
 
         if (isCanAutoUpdate)
-            currentKey = mainline.getKeyBeforeTime2((int) this.time, looping);
+            currentKey = mainline.getKeyPair(getKeyIndex((int) this.time));
         if (currentKey == null) return;
 
-        for (Sprite sprite : sprites)
-            sprite.setVisible(false);
-
-        MainlineKey key = currentKey.first;
         int index = currentKey.second;
-        for (ObjectRef ref : key.objectRefs)
-            update(key, ref, (int) this.time);
+        childDelta = delta;
+        pose(currentKey.first);
+
+        if (renderQueue != null && !simulationOnly)
+            submit(renderQueue, renderLayer, renderDepth);
 
         if (animatorListener != null) {
             if (index == 0) {
@@ -161,12 +570,161 @@ public class Animation {
     public void update(MainlineKey key, int time) {
         if (key == null) return;
 
+        childDelta = time - this.time;
         setTime(time);
-        for (Sprite sprite : sprites)
-            sprite.setVisible(false);
+        pose(key);
+
+        if (renderQueue != null && !simulationOnly)
+            submit(renderQueue, renderLayer, renderDepth);
+    }
 
-        for (ObjectRef ref : key.objectRefs)
-            update(key, ref, (int) this.time);
+    /**
+     * Tweens all the parts of the given key at the current time, then updates the nested animations
+     */
+    private void pose(MainlineKey key) {
+        boundsDirty = true;
+
+        for (int i = 0; i < boxes.size; i++)
+            boxes.get(i).setVisible(false);
+        for (int i = 0; i < points.size; i++)
+            points.get(i).setVisible(false);
+
+        if (simulationOnly) {
+            for (int i = 0; i < key.objectRefs.size; i++) {
+                ObjectRef ref = key.objectRefs.get(i);
+                if (!(tweenedObjects.get(ref.timeline) instanceof Sprite))
+                    update(key, ref, (int) this.time);
+            }
+            return;
+        }
+
+        for (int i = 0; i < sprites.size; i++)
+            sprites.get(i).setVisible(false);
+
+        for (int i = 0; i < key.objectRefs.size; i++)
+            update(key, key.objectRefs.get(i), (int) this.time);
+
+        updateChildren();
+    }
+
+    /**
+     * Marks a part as being in the current key
+     */
+    private static void show(AnimatedPart part) {
+        if (part instanceof Sprite)
+            ((Sprite) part).setVisible(true);
+        else if (part instanceof BoxPart)
+            ((BoxPart) part).setVisible(true);
+        else if (part instanceof PointPart)
+            ((PointPart) part).setVisible(true);
+    }
+
+    /**
+     * Sets whether this animation only simulates its bones. In simulation only, updates skip sprites entirely: no
+     * tweening, drawable, alpha, z-index nor nested animation work, and nothing is submitted to the render queue.
+     * Sprites are hidden, so the animation draws nothing and only its bones and root are meaningful. Meant for
+     * servers running many animations headless.
+     *
+     * @param simulationOnly true to only update bones, false to update everything
+     */
+    public void setSimulationOnly(boolean simulationOnly) {
+        this.simulationOnly = simulationOnly;
+
+        if (simulationOnly)
+            setVisible(false);
+    }
+
+    public boolean isSimulationOnly() {
+        return simulationOnly;
+    }
+
+    /**
+     * Updates the nested animations of the visible sprites, once their pose is known. Nested animations are updated by
+     * the same time as this one, scaled by their own speed. The time is then consumed, other poses don't move them.
+     */
+    private void updateChildren() {
+        resolveOverrides();
+
+        for (int i = 0; i < sprites.size; i++) {
+            Sprite sprite = sprites.get(i);
+            if (!sprite.isVisible())
+                continue;
+
+            SpriteDrawable drawable = drawableOf(sprite);
+            if (drawable instanceof AnimationSpriteDrawable)
+                ((AnimationSpriteDrawable) drawable).update(childOf((AnimationSpriteDrawable) drawable, sprite), sprite, childDelta);
+        }
+        childDelta = 0f;
+    }
+
+    /**
+     * Returns the copy of the nested animation of the given drawable owned by this animation. Each sprite has a single
+     * copy, made on first use with the playback settings of the template then posed at the sprite. When the sprite
+     * gets another drawable, the copy is reused if the drawable has the same template and replaced otherwise.
+     *
+     * @param drawable drawable of the nested animation
+     * @param sprite   sprite drawn by the drawable
+     * @return copy of the nested animation, updated and drawn by this animation only
+     */
+    private Animation childOf(AnimationSpriteDrawable drawable, Sprite sprite) {
+        int timeline = sprite.getTimeline();
+        if (childDrawables[timeline] == drawable)
+            return children[timeline];
+
+        Animation child = children[timeline];
+        Animation template = drawable.getAnimation();
+        if (child == null || childDrawables[timeline].getAnimation() != template) {
+            child = new Animation(template);
+            copyPlayback(template, child);
+            children[timeline] = child;
+        }
+        childDrawables[timeline] = drawable;
+
+        drawable.update(child, sprite, 0f);
+        return child;
+    }
+
+    /**
+     * Copies the playback settings of a nested animation template to a copy of it
+     */
+    private static void copyPlayback(Animation template, Animation child) {
+        child.time = template.time;
+        child.speed = template.speed;
+        child.looping = template.looping;
+        child.isCanPlay = template.isCanPlay;
+        child.isCanAutoUpdate = template.isCanAutoUpdate;
+        child.textureGrouping = template.textureGrouping;
+        child.setOverrides(template.overrides);
+    }
+
+    /**
+     * Returns the copy owned by this animation of the nested animation drawing the sprite of the given timeline, to
+     * control its playback. The copy is made if the sprite wasn't drawn yet, and replaced if the sprite gets a drawable
+     * of another nested animation.
+     *
+     * @param timelineName name of the timeline of the sprite
+     * @return copy of the nested animation, null if the timeline has no sprite or isn't drawn by a nested animation
+     */
+    @Null
+    public Animation getNestedAnimation(String timelineName) {
+        int id = getTimelineId(timelineName);
+        if (id == -1 || !(tweenedObjects.get(id) instanceof Sprite))
+            return null;
+
+        resolveOverrides();
+        Sprite sprite = (Sprite) tweenedObjects.get(id);
+        SpriteDrawable drawable = drawableOf(sprite);
+        return drawable instanceof AnimationSpriteDrawable ? childOf((AnimationSpriteDrawable) drawable, sprite) : null;
+    }
+
+    /**
+     * @param timeline id of the timeline of a sprite
+     * @return copy of the nested animation already made for the sprite, null if none, see {@link
+     * #childOf(AnimationSpriteDrawable, Sprite)}
+     */
+    @Null
+    Animation getChild(int timeline) {
+        return children[timeline];
     }
 
     @SuppressWarnings("NewApi")
@@ -177,71 +735,267 @@ public class Animation {
 
         AnimatedPart tweened = tweenedObjects.get(ref.timeline);
 
-        TimelineKey key = timeline.getKeys().get(ref.key); //get the last previous key
+        float t = tween(currentKey, timeline, ref.key, time, tweened);
 
-        TimelineKey nextKey;
-        int timeOfNext;
+        if (tweened instanceof Sprite) {
+            int zIndex = ((Sprite) tweened).getZIndex();
+            tweenSprite(timeline, ref.key, t, (Sprite) tweened);
 
-        Consumer<AnimatedPart> transform = transformations.get(timeline.getName());
+            if (((Sprite) tweened).getZIndex() != zIndex)
+                zIndexChanged = true;
+        } else if (tweened instanceof BoxPart)
+            tweenBox(timeline, ref.key, (BoxPart) tweened);
+        show(tweened);
 
-        if (ref.key + 1 == timeline.getKeys().size) {
-            if (!looping) {
-                //no need to tween, stay freezed at first sprite
+        Consumer<AnimatedPart> transform = transformations.get(timeline.getName());
+        if (transform != null)
+            transform.accept(tweened);
 
-                if (tweened instanceof Sprite
-                        && key.getObject() instanceof Sprite
-                        && ((Sprite) tweened).getZIndex() != ((Sprite) key.getObject()).getZIndex())
-                    zIndexChanged = true;
+        tweened.unmap(ref.parent != null ? tweenedObjects.get(ref.parent.timeline) : root);
+    }
 
-                tweened.set(key.getObject());
+    /**
+     * Returns the key a key of a timeline tweens to
+     *
+     * @return index of the next key, -1 if the key is the last one and this animation doesn't loop
+     */
+    private int getNextKey(Timeline timeline, int key) {
+        if (key + 1 < timeline.getKeys().size)
+            return key + 1;
 
-                if (tweened instanceof Sprite)
-                    ((Sprite) tweened).setVisible(true);
+        return looping ? 0 : -1;
+    }
 
-                if (transform != null)
-                    transform.accept(tweened);
+    /**
+     * Tweens the angle, position and scale of a key of a timeline toward the next one, in the space of its parent.
+     * Only writes to the given part, not to the state of this animation.
+     *
+     * @param mainlineKey mainline key at the given time
+     * @param timeline    timeline to tween
+     * @param key         index of the last key of the timeline before the given time
+     * @param time        time in milliseconds
+     * @param out         part to write the tweened transform to
+     * @return eased ratio between the key and the next one, 0 if there is no next key
+     */
+    private float tween(MainlineKey mainlineKey, Timeline timeline, int key, int time, AnimatedPart out) {
+        TimelineKey prevKey = timeline.getKeys().get(key);
 
-                AnimatedPart parent = ref.parent != null ? tweenedObjects.get(ref.parent.timeline) : root;
-                tweened.unmap(parent);
-                return;
-            }
+        int next = getNextKey(timeline, key);
+        float t = 0f;
 
-            nextKey = timeline.getKeys().get(0);
-            timeOfNext = nextKey.getTime() + length; //wrap around
+        if (next == -1) {
+            //no next key, stay freezed on this one
+            next = key;
         } else {
-            nextKey = timeline.getKeys().get(ref.key + 1);
-            timeOfNext = nextKey.getTime();
+            TimelineKey nextKey = timeline.getKeys().get(next);
+            int timeOfNext = next > key ? nextKey.getTime() : nextKey.getTime() + length; //wrap around
+
+            float timeDiff = timeOfNext - prevKey.getTime();
+            float timeRatio = mainlineKey.curve.ease((time - prevKey.getTime()) / timeDiff);
+
+            //every channel shares the same eased ratio, evaluate the curve only once
+            t = prevKey.getCurve().ease(timeRatio);
         }
 
-        float timeDiff = timeOfNext - key.getTime();
-        float timeRatio = currentKey.curve.interpolate(0f, 1f, (time - key.getTime()) / timeDiff);
+        KeyframeStore store = timeline.getStore();
+        if (store != null) {
+            out.setAngle(spinAngle(store.getAngle(key), store.getAngle(next), t, prevKey.getSpin()));
+            out.getPosition().set(linear(store.getX(key), store.getX(next), t), linear(store.getY(key), store.getY(next), t));
+            out.getScale().set(linear(store.getScaleX(key), store.getScaleX(next), t), linear(store.getScaleY(key), store.getScaleY(next), t));
+            return t;
+        }
 
-        //Tween object
-        AnimatedPart obj1 = key.getObject();
-        AnimatedPart obj2 = nextKey.getObject();
+        AnimatedPart obj1 = prevKey.getObject();
+        AnimatedPart obj2 = timeline.getKeys().get(next).getObject();
 
-        Curve curve = key.getCurve();
+        out.setAngle(spinAngle(obj1.getAngle(), obj2.getAngle(), t, prevKey.getSpin()));
+        out.getPosition().set(linear(obj1.position.x, obj2.position.x, t), linear(obj1.position.y, obj2.position.y, t));
+        out.getScale().set(linear(obj1.scale.x, obj2.scale.x, t), linear(obj1.scale.y, obj2.scale.y, t));
+        return t;
+    }
 
-        tweened.setAngle(curve.interpolateAngle(obj1.getAngle(), obj2.getAngle(), timeRatio, key.getSpin()));
+    /**
+     * Tweens the alpha of a sprite key toward the next one and sets its image and z-index
+     *
+     * @param t eased ratio between the key and the next one, see {@link #tween(MainlineKey, Timeline, int, int,
+     *          AnimatedPart)}
+     */
+    private void tweenSprite(Timeline timeline, int key, float t, Sprite out) {
+        //when not looping, the last key has no next key and stays freezed at its sprite
+        int next = getNextKey(timeline, key);
+        if (next == -1)
+            next = key;
+
+        //objects of compact timelines only hold the image, their alpha is in the store
+        Sprite obj1 = (Sprite) timeline.getKeys().get(key).getObject();
+        KeyframeStore store = timeline.getStore();
+
+        if (store != null)
+            out.setAlpha(linear(store.getAlpha(key), store.getAlpha(next), t));
+        else
+            out.setAlpha(linear(obj1.getAlpha(), ((Sprite) timeline.getKeys().get(next).getObject()).getAlpha(), t));
+
+        out.setImage(obj1);
+        out.setZIndex(obj1.getZIndex());
+    }
 
-        curve.interpolateVector(obj1.getPosition(), obj2.getPosition(), timeRatio, tweened.getPosition());
-        curve.interpolateVector(obj1.getScale(), obj2.getScale(), timeRatio, tweened.getScale());
+    /**
+     * Sets the pivot of a box to the one of its key, pivots aren't tweened
+     */
+    private static void tweenBox(Timeline timeline, int key, BoxPart out) {
+        BoxPart obj1 = (BoxPart) timeline.getKeys().get(key).getObject();
+        out.setPivot(obj1.getPivotX(), obj1.getPivotY());
+    }
 
-        if (tweened instanceof Sprite) {
-            ((Sprite) tweened).setAlpha(curve.interpolate(((Sprite) obj1).getAlpha(), ((Sprite) obj2).getAlpha(), timeRatio));
-            ((Sprite) tweened).setDrawable(((Sprite) obj1).getDrawable());
+    /**
+     * Returns the index of the mainline key at the given time, through the time index when enabled
+     */
+    private int getKeyIndex(int time) {
+        if (timeIndexed)
+            return getTimeIndex().getMainlineKey(time, looping);
 
-            if (((Sprite) tweened).getZIndex() != ((Sprite) obj1).getZIndex()) {
-                ((Sprite) tweened).setZIndex(((Sprite) obj1).getZIndex());
-                zIndexChanged = true;
+        return mainline.getKeyIndexBeforeTime(time, looping);
+    }
+
+    /**
+     * Sets whether updates, seeks and samples find the mainline key through a {@link TimeIndex} instead of scanning the
+     * keys. Worth it for animations with many keys or sampled at random times. The index is built on first use or
+     * first copy, then shared with the copies of this animation.
+     *
+     * @param timeIndexed true to use a time index
+     */
+    public void setTimeIndexed(boolean timeIndexed) {
+        this.timeIndexed = timeIndexed;
+    }
+
+    public boolean isTimeIndexed() {
+        return timeIndexed;
+    }
+
+    /**
+     * Sets the maximum amount of entries of the time index of this animation and drops the current index, to build it
+     * again after modifying the keys for instance
+     *
+     * @param maxEntries maximum amount of entries, see {@link TimeIndex#TimeIndex(Animation, int)}
+     */
+    public void setTimeIndexMaxEntries(int maxEntries) {
+        this.timeIndexMaxEntries = maxEntries;
+        this.timeIndex = null;
+    }
+
+    /**
+     * Returns the time index of this animation, building it if needed. Building is idempotent, concurrent samples
+     * racing to build it only waste the work of the losers.
+     *
+     * @return time index of this animation
+     */
+    public TimeIndex getTimeIndex() {
+        TimeIndex index = timeIndex;
+        if (index == null) {
+            index = new TimeIndex(this, timeIndexMaxEntries);
+            timeIndex = index;
+        }
+        return index;
+    }
+
+    /**
+     * Samples the pose of this animation at any time into the given pose. Sampling only reads the keys of this
+     * animation and writes to the pose, it doesn't change the playback state nor the parts of this animation. Many
+     * threads can thus sample the same animation at once, each with its own pose, as long as the animation isn't
+     * updated or modified meanwhile.
+     * <p>
+     * Transformations, timeline visibility and overrides aren't applied, the pose is the one of the animation data.
+     *
+     * @param time time of the animation in milliseconds, wrapped or clamped like {@link #setTime(float)}
+     * @param out  pose to write to, created for this animation
+     */
+    public void sample(float time, Pose out) {
+        if (out.size() != timelines.size)
+            throw new IllegalArgumentException("Pose has " + out.size() + " parts, animation " + name + " has " + timelines.size + " timelines");
+
+        int sampleTime = (int) wrapTime(time);
+        int keyIndex = getKeyIndex(sampleTime);
+        MainlineKey key = mainline.getKeys().get(keyIndex);
+
+        out.clear(keyIndex);
+
+        for (int i = 0; i < key.objectRefs.size; i++) {
+            ObjectRef ref = key.objectRefs.get(i);
+            Timeline timeline = timelines.get(ref.timeline);
+            AnimatedPart part = out.getPart(ref.timeline);
+
+            float t = tween(key, timeline, ref.key, sampleTime, part);
+            if (part instanceof Sprite)
+                tweenSprite(timeline, ref.key, t, (Sprite) part);
+            else if (part instanceof BoxPart)
+                tweenBox(timeline, ref.key, (BoxPart) part);
+
+            part.unmap(ref.parent != null ? out.getPart(ref.parent.timeline) : out.getRoot());
+            out.setPresent(ref.timeline);
+        }
+    }
+
+    /**
+     * Samples the world transform of a timeline at any time, without posing the whole animation. Only the timeline and
+     * its ancestors in the mainline key at that time are tweened. The playback state of this animation and its parts
+     * are left untouched, making this suitable for look-ahead queries like where a hand will be in 200ms.
+     * <p>
+     * The sampled transform is relative to the current root of this animation. Transformations and timeline visibility
+     * aren't applied, the transform is the one of the animation data. Scratch objects of this animation are used,
+     * {@link #sample(float, Pose)} samples from many threads at once.
+     *
+     * @param timelineName name of the timeline to sample
+     * @param time         time of the animation in milliseconds, wrapped or clamped like {@link #setTime(float)}
+     * @param out          part to write the angle, position and scale of the timeline to
+     * @return true if sampled, false if the timeline doesn't exist or isn't in the mainline key at that time
+     */
+    public boolean sampleTimeline(String timelineName, float time, AnimatedPart out) {
+        int id = getTimelineId(timelineName);
+        return id != -1 && sampleTimeline(id, time, out);
+    }
+
+    /**
+     * Samples the world transform of a timeline at any time, see {@link #sampleTimeline(String, float, AnimatedPart)}
+     *
+     * @param timelineId id of the timeline to sample
+     * @param time       time of the animation in milliseconds, wrapped or clamped like {@link #setTime(float)}
+     * @param out        part to write the angle, position and scale of the timeline to
+     * @return true if sampled, false if the timeline isn't in the mainline key at that time
+     */
+    public boolean sampleTimeline(int timelineId, float time, AnimatedPart out) {
+        int sampleTime = (int) wrapTime(time);
+        MainlineKey key = mainline.getKeys().get(getKeyIndex(sampleTime));
+
+        ObjectRef ref = null;
+        for (int i = 0; i < key.objectRefs.size; i++) {
+            if (key.objectRefs.get(i).timeline == timelineId) {
+                ref = key.objectRefs.get(i);
+                break;
             }
-            ((Sprite) tweened).setVisible(true);
         }
 
-        if (transform != null)
-            transform.accept(tweened);
+        if (ref == null)
+            return false;
 
-        tweened.unmap(ref.parent != null ? tweenedObjects.get(ref.parent.timeline) : root);
+        //collect the ancestors, then tween them from the topmost one down to the timeline
+        int depth = 0;
+        for (ObjectRef parent = ref.parent; parent != null; parent = parent.parent) {
+            if (depth == sampleChain.length)
+                sampleChain = Arrays.copyOf(sampleChain, depth * 2 + 4);
+            sampleChain[depth++] = parent;
+        }
+
+        AnimatedPart parent = root;
+        for (int i = depth - 1; i >= 0; i--) {
+            AnimatedPart part = sampleParts[i & 1];
+            tween(key, timelines.get(sampleChain[i].timeline), sampleChain[i].key, sampleTime, part);
+            part.unmap(parent);
+            parent = part;
+        }
+
+        tween(key, timelines.get(ref.timeline), ref.key, sampleTime, out);
+        out.unmap(parent);
+        return true;
     }
 
     public void reset() {
@@ -249,6 +1003,185 @@ public class Animation {
         update(0);
     }
 
+    /**
+     * Returns the amount of bytes {@link #snapshot(ByteBuffer)} writes. Always the same for an animation without
+     * nested animations, otherwise depends on the nested animations currently drawn.
+     *
+     * @return size of a snapshot of this animation
+     */
+    public int getSnapshotSize() {
+        //8 floats, the flags and the key index, then a bit per timeline and the count of nested animations
+        int size = 8 * 4 + 1 + 4 + (timelines.size + 7) / 8 + 2;
+
+        for (int i = 0; i < sprites.size; i++) {
+            Animation child = snapshotChildOf(sprites.get(i));
+            if (child != null)
+                size += 4 + child.getSnapshotSize();
+        }
+        return size;
+    }
+
+    /**
+     * Writes the playback state of this animation at the position of the given buffer: time, speed, alpha, looping,
+     * play state, current key, visibility of the timelines and root transform, followed by the snapshots of the
+     * nested animations of the visible sprites. Transformations, listener and overrides aren't part of the snapshot:
+     * overrides can be shared by many animations and entities, they are the state of the entity.
+     *
+     * @param buffer buffer to write to, with at least {@link #getSnapshotSize()} bytes remaining
+     */
+    public void snapshot(ByteBuffer buffer) {
+        buffer.putFloat(time);
+        buffer.putFloat(speed);
+        buffer.putFloat(alpha);
+        buffer.put((byte) ((looping ? 1 : 0) | (isCanPlay ? 2 : 0) | (isCanAutoUpdate ? 4 : 0) | (canCall ? 8 : 0)));
+        buffer.putInt(currentKey != null ? currentKey.second : -1);
+
+        buffer.putFloat(root.position.x);
+        buffer.putFloat(root.position.y);
+        buffer.putFloat(root.scale.x);
+        buffer.putFloat(root.scale.y);
+        buffer.putFloat(root.angle);
+
+        for (int i = 0; i < timelines.size; i += 8) {
+            int bits = 0;
+            for (int j = i; j < i + 8 && j < timelines.size; j++)
+                if (timelines.get(j).isVisible())
+                    bits |= 1 << j - i;
+            buffer.put((byte) bits);
+        }
+
+        int count = 0;
+        for (int i = 0; i < sprites.size; i++)
+            if (snapshotChildOf(sprites.get(i)) != null)
+                count++;
+        buffer.putShort((short) count);
+
+        for (int i = 0; i < sprites.size; i++) {
+            Sprite sprite = sprites.get(i);
+            Animation child = snapshotChildOf(sprite);
+            if (child == null)
+                continue;
+
+            buffer.putInt(sprite.getTimeline());
+            child.snapshot(buffer);
+        }
+    }
+
+    /**
+     * @return the copy of the nested animation of the given sprite part of a snapshot, null if the sprite isn't drawn
+     * by a nested animation or its copy wasn't created yet
+     */
+    @Null
+    private Animation snapshotChildOf(Sprite sprite) {
+        if (!sprite.isVisible())
+            return null;
+
+        resolveOverrides();
+        SpriteDrawable drawable = drawableOf(sprite);
+        return drawable != null && childDrawables[sprite.getTimeline()] == drawable ? children[sprite.getTimeline()] : null;
+    }
+
+    /**
+     * Reads a snapshot written by {@link #snapshot(ByteBuffer)} at the position of the given buffer and tweens the
+     * pose it was taken in, then restores the nested animations. The listener isn't called and nothing is submitted to
+     * the render queue. Nested animations are matched by timeline, their sprites must be drawn by the same nested
+     * animations as when the snapshot was taken.
+     *
+     * @param buffer buffer to read from
+     */
+    public void restore(ByteBuffer buffer) {
+        time = buffer.getFloat();
+        speed = buffer.getFloat();
+        alpha = buffer.getFloat();
+        int flags = buffer.get();
+        looping = (flags & 1) != 0;
+        isCanPlay = (flags & 2) != 0;
+        isCanAutoUpdate = (flags & 4) != 0;
+        canCall = (flags & 8) != 0;
+        int index = buffer.getInt();
+
+        root.position.set(buffer.getFloat(), buffer.getFloat());
+        root.scale.set(buffer.getFloat(), buffer.getFloat());
+        root.angle = buffer.getFloat();
+
+        for (int i = 0; i < timelines.size; i += 8) {
+            int bits = buffer.get();
+            for (int j = i; j < i + 8 && j < timelines.size; j++)
+                timelines.get(j).setVisible((bits & 1 << j - i) != 0);
+        }
+
+        if (index == -1)
+            currentKey = null;
+        else {
+            currentKey = mainline.getKeyPair(index);
+            pose(currentKey.first);
+        }
+
+        resolveOverrides();
+        int count = buffer.getShort();
+        for (int i = 0; i < count; i++) {
+            Sprite sprite = (Sprite) tweenedObjects.get(buffer.getInt());
+            SpriteDrawable drawable = drawableOf(sprite);
+
+            if (!(drawable instanceof AnimationSpriteDrawable))
+                throw new IllegalStateException("Timeline " + sprite.getTimeline() + " of animation " + name + " isn't drawn by a nested animation");
+
+            childOf((AnimationSpriteDrawable) drawable, sprite).restore(buffer);
+        }
+    }
+
+    /**
+     * Brings this animation back to the state it was created in, for it to be reused by another game object. Time,
+     * speed, alpha, looping, play state, listener, transformations, root transform, timeline and sprite visibility
+     * and render settings are reset, copies of nested animations are reset and kept for reuse. Keys aren't, drawables
+     * set on them with {@link #tintSprite(String, Color)} stay, prefer {@link SpriteOverrides} for instances that are
+     * reused. Overrides are cleared by their {@link Entity}.
+     */
+    public void resetState() {
+        time = 0;
+        speed = 1f;
+        alpha = 1f;
+        looping = sourceLooping;
+
+        isCanPlay = false;
+        isCanAutoUpdate = true;
+        currentKey = null;
+        canCall = false;
+        childDelta = 0f;
+        for (int i = 0; i < children.length; i++) {
+            if (children[i] == null)
+                continue;
+
+            children[i].resetState();
+            copyPlayback(childDrawables[i].getAnimation(), children[i]);
+        }
+
+        animatorListener = null;
+        transformations.clear();
+
+        root.position.set(0f, 0f);
+        root.scale.set(1f, 1f);
+        root.angle = 0f;
+
+        for (int i = 0; i < timelines.size; i++)
+            timelines.get(i).setVisible(true);
+        for (int i = 0; i < sprites.size; i++)
+            sprites.get(i).setVisible(true);
+        for (int i = 0; i < boxes.size; i++)
+            boxes.get(i).setVisible(true);
+        for (int i = 0; i < points.size; i++)
+            points.get(i).setVisible(true);
+        boundsDirty = true;
+
+        simulationOnly = false;
+        renderQueue = null;
+        renderLayer = 0;
+        renderDepth = 0;
+        textureGrouping = false;
+        textureSwitches = 0;
+        textureSwitchesSaved = 0;
+    }
+
     public void first() {
         if (currentKey == null)
             currentKey = mainline.getKeyBeforeTime2(0, false);
@@ -307,6 +1240,7 @@ public class Animation {
     }
 
     public void setVisible(boolean value) {
+        boundsDirty = true;
         for (Sprite sprite : sprites)
             sprite.setVisible(value);
     }
@@ -323,16 +1257,82 @@ public class Animation {
         return transformations;
     }
 
+    public Mainline getMainline() {
+        return mainline;
+    }
+
+    /**
+     * @return tweened collision boxes, in world coordinates. Boxes that aren't in the current key are not visible.
+     */
+    public Array<BoxPart> getBoxes() {
+        return boxes;
+    }
+
+    /**
+     * @return tweened action points, in world coordinates. Points that aren't in the current key are not visible.
+     */
+    public Array<PointPart> getPoints() {
+        return points;
+    }
+
+    /**
+     * @param name name of the timeline of the box
+     * @return tweened box of the given timeline, null if there's no box timeline with that name
+     */
+    @Null
+    public BoxPart getBox(String name) {
+        int index = timelineIndex.indexOf(name);
+        AnimatedPart part = index != -1 ? tweenedObjects.get(timelines.get(index).getId()) : null;
+        return part instanceof BoxPart ? (BoxPart) part : null;
+    }
+
+    /**
+     * @param name name of the timeline of the point
+     * @return tweened point of the given timeline, null if there's no point timeline with that name
+     */
+    @Null
+    public PointPart getPoint(String name) {
+        int index = timelineIndex.indexOf(name);
+        AnimatedPart part = index != -1 ? tweenedObjects.get(timelines.get(index).getId()) : null;
+        return part instanceof PointPart ? (PointPart) part : null;
+    }
+
+    /**
+     * Returns the first visible collision box of the current pose containing the given world point
+     *
+     * @param x world x coordinate
+     * @param y world y coordinate
+     * @return box containing the point, null if none
+     */
+    @Null
+    public BoxPart hitBox(float x, float y) {
+        for (int i = 0; i < boxes.size; i++) {
+            BoxPart box = boxes.get(i);
+            if (box.isVisible() && box.contains(x, y))
+                return box;
+        }
+        return null;
+    }
+
     public Array<Timeline> getTimelines() {
         return timelines;
     }
 
     @Null
     public Timeline getTimeline(String name) {
-        for (Timeline timeline : timelines) {
-            if (timeline.getName().equals(name)) return timeline;
-        }
-        return null;
+        int index = timelineIndex.indexOf(name);
+        return index != -1 ? timelines.get(index) : null;
+    }
+
+    /**
+     * Returns the index of a timeline in {@link #getTimelines()}, which is also the index of its part in {@link
+     * #getParts()}. Lets code accessing a part every frame look up its name once.
+     *
+     * @param name name of the timeline
+     * @return index of the timeline, -1 if not found
+     */
+    public int getTimelineId(String name) {
+        return timelineIndex.indexOf(name);
     }
 
     public String getName() {
@@ -349,6 +1349,13 @@ public class Animation {
     }
 
     public void setTime(float time) {
+        this.time = wrapTime(time);
+    }
+
+    /**
+     * Wraps the given time in the length of this animation when looping, clamps it otherwise
+     */
+    private float wrapTime(float time) {
         if (looping)
             while (time < 0)
                 time += length;
@@ -361,7 +1368,7 @@ public class Animation {
         else if (time > length)
             time = length;
 
-        this.time = time;
+        return time;
     }
 
     public float getSpeed() {
@@ -455,26 +1462,148 @@ public class Animation {
     }
 
     public Rectangle getBoundingRectangle(ObjectRef rootRef) {
-        AnimatedPart part = rootRef == null ? this.root : timelines.get(rootRef.timeline).getKeys().get(rootRef.key).getObject();
+        AnimatedPart part = rootRef == null ? this.root : decodeKey(timelines.get(rootRef.timeline), rootRef.key);
         rect.set(part.position.x, part.position.y, part.position.x, part.position.y);
         calcBoundingRectangle(rootRef);
-//        System.out.println("---->>>>" + rect + " " + rect.centerX() + " " + rect.centerY());
         rectangle.set(rect.centerX(), rect.centerY(), rect.width(), rect.height());
         return rectangle;
     }
 
+    /**
+     * Returns a key of a timeline, decoded in a scratch part of the same kind if the timeline is compact
+     */
+    private AnimatedPart decodeKey(Timeline timeline, int key) {
+        AnimatedPart object = timeline.getKeys().get(key).getObject();
+        if (!timeline.isCompact())
+            return object;
+
+        return timeline.decode(key, object instanceof Sprite ? keySprite : keyPart);
+    }
+
     private void calcBoundingRectangle(ObjectRef rootRef) {
         MainlineKey currentKey = mainline.getKeyBeforeTime((int) time, looping);
         for (ObjectRef ref : currentKey.objectRefs) {
             if (ref.parent != rootRef && rootRef != null) continue;
             Timeline timeline = timelines.get(ref.timeline);
-            TimelineKey key = timeline.getKeys().get(ref.key);
-            this.prevBBox.calcFor(key.getObject());
+            this.prevBBox.calcFor(decodeKey(timeline, ref.key));
             Box.setBiggerRectangle(rect, this.prevBBox.getBoundingRect(), rect);
 //            this.calcBoundingRectangle(ref);
         }
     }
 
+    /**
+     * Returns the world bounds of the visible sprites of the current tweened pose. The result is cached until the next
+     * update and must not be modified.
+     *
+     * @return world bounds of this animation, empty at the root position if no sprite is visible
+     */
+    public RectF getBounds() {
+        resolveOverrides();
+        if (!boundsDirty)
+            return bounds;
+
+        boolean empty = true;
+        for (int i = 0; i < sprites.size; i++) {
+            Sprite sprite = sprites.get(i);
+            SpriteDrawable drawable = drawableOf(sprite);
+            if (!sprite.isVisible() || drawable == null)
+                continue;
+
+            prevBBox.calcFor(sprite, drawable);
+            if (empty) {
+                bounds.set(prevBBox.getBoundingRect());
+                empty = false;
+            } else
+                Box.setBiggerRectangle(bounds, prevBBox.getBoundingRect(), bounds);
+        }
+
+        if (empty)
+            bounds.set(root.position.x, root.position.y, root.position.x, root.position.y);
+
+        boundsDirty = false;
+        return bounds;
+    }
+
+    /**
+     * Fills the given rectangle with the world bounds of the current tweened pose, see {@link #getBounds()}.
+     *
+     * @param out rectangle to fill
+     * @return the given rectangle
+     */
+    public Rectangle getBounds(Rectangle out) {
+        RectF bounds = getBounds();
+        return out.set(bounds.left, bounds.top, bounds.width(), bounds.height());
+    }
+
+    /**
+     * Returns the topmost visible sprite of the current tweened pose containing the given world point.
+     *
+     * @param x world x coordinate
+     * @param y world y coordinate
+     * @return the topmost sprite under the point, null if none
+     */
+    @Null
+    public Sprite hit(float x, float y) {
+        RectF bounds = getBounds();
+        if (x < bounds.left || x > bounds.right || y < bounds.top || y > bounds.bottom)
+            return null;
+
+        sortSprites();
+        for (int i = sprites.size - 1; i >= 0; i--) {
+            Sprite sprite = sprites.get(i);
+            if (!sprite.isVisible())
+                continue;
+
+            SpriteDrawable drawable = drawableOf(sprite);
+            if (drawable != null && prevBBox.collides(sprite, drawable, x, y))
+                return sprite;
+        }
+        return null;
+    }
+
+    /**
+     * Returns whether a visible sprite of the current tweened pose contains the given world point.
+     *
+     * @param x world x coordinate
+     * @param y world y coordinate
+     * @return true if the point hits this animation
+     */
+    public boolean contains(float x, float y) {
+        return hit(x, y) != null;
+    }
+
+    /**
+     * Returns whether the bounds of a visible sprite of the current tweened pose overlap the given world rectangle.
+     *
+     * @param rect world rectangle
+     * @return true if the rectangle overlaps this animation
+     */
+    public boolean overlaps(Rectangle rect) {
+        float right = rect.x + rect.width, top = rect.y + rect.height;
+        RectF bounds = getBounds();
+        if (!bounds.intersects(rect.x, rect.y, right, top))
+            return false;
+
+        for (int i = 0; i < sprites.size; i++) {
+            Sprite sprite = sprites.get(i);
+            SpriteDrawable drawable = drawableOf(sprite);
+            if (!sprite.isVisible() || drawable == null)
+                continue;
+
+            prevBBox.calcFor(sprite, drawable);
+            if (prevBBox.getBoundingRect().intersects(rect.x, rect.y, right, top))
+                return true;
+        }
+        return false;
+    }
+
+    private void sortSprites() {
+        if (zIndexChanged) {
+            sprites.sort(SPRITE_COMPARATOR);
+            zIndexChanged = false;
+        }
+    }
+
     public void setTransformation(String timelineName, Consumer<AnimatedPart> transformation) {
         if (transformation == null) transformations.remove(timelineName);
         else transformations.put(timelineName, transformation);
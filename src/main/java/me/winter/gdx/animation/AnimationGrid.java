@@ -0,0 +1,305 @@
+package me.winter.gdx.animation;
+
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.IdentityMap;
+import com.badlogic.gdx.utils.LongMap;
+import com.badlogic.gdx.utils.Null;
+
+/**
+ * Uniform grid indexing animations by their world bounds, see {@link Animation#getBounds()}. Used to pick and cull
+ * many animations without testing all of them. Animations are not followed automatically, {@link #update(Animation)}
+ * must be called after updating an animation or moving its root.
+ * <p>
+ * Animations are ordered by depth, then by insertion order. The animation with the highest depth is considered on top,
+ * as if drawn last.
+ * <p>
+ * An animation whose bounds cover more than a maximum amount of cells, like one with huge or degenerate bounds, isn't
+ * put in cells but in a list tested by every query and pick.
+ */
+public class AnimationGrid {
+    /**
+     * Default maximum amount of cells an animation is put in
+     */
+    public static final int DEFAULT_MAX_CELLS = 64;
+
+    private final float cellSize;
+    private final int maxCells;
+
+    private final LongMap<Array<Entry>> cells = new LongMap<>();
+    private final Array<Entry> oversized = new Array<>(false, 4);
+    private final IdentityMap<Animation, Entry> entries = new IdentityMap<>();
+
+    private int insertions = 0;
+    private int queryStamp = 0;
+
+    private Sprite picked;
+
+    /**
+     * @param cellSize size of a cell in world units, usually about the size of an animation
+     */
+    public AnimationGrid(float cellSize) {
+        this(cellSize, DEFAULT_MAX_CELLS);
+    }
+
+    /**
+     * @param cellSize size of a cell in world units, usually about the size of an animation
+     * @param maxCells maximum amount of cells an animation is put in, animations covering more are tested by every
+     *                 query and pick instead
+     */
+    public AnimationGrid(float cellSize, int maxCells) {
+        if (cellSize <= 0)
+            throw new IllegalArgumentException("Cell size must be positive: " + cellSize);
+        if (maxCells < 1)
+            throw new IllegalArgumentException("Max cells must be positive: " + maxCells);
+
+        this.cellSize = cellSize;
+        this.maxCells = maxCells;
+    }
+
+    public void add(Animation animation) {
+        add(animation, 0);
+    }
+
+    /**
+     * Adds an animation to this grid, or updates its depth if it's already in
+     *
+     * @param animation animation to index
+     * @param depth     depth of the animation, higher depths are on top
+     */
+    public void add(Animation animation, int depth) {
+        Entry entry = entries.get(animation);
+        if (entry != null) {
+            entry.depth = depth;
+            update(animation);
+            return;
+        }
+
+        entry = new Entry(animation, depth, insertions++);
+        entries.put(animation, entry);
+        insert(entry);
+    }
+
+    public void remove(Animation animation) {
+        Entry entry = entries.remove(animation);
+        if (entry != null)
+            removeFromCells(entry);
+    }
+
+    public boolean contains(Animation animation) {
+        return entries.containsKey(animation);
+    }
+
+    public void setDepth(Animation animation, int depth) {
+        Entry entry = entries.get(animation);
+        if (entry != null)
+            entry.depth = depth;
+    }
+
+    /**
+     * Moves the animation in the cells covered by its current bounds. Nothing is done if the animation still covers
+     * the same cells.
+     *
+     * @param animation animation to update
+     */
+    public void update(Animation animation) {
+        Entry entry = entries.get(animation);
+        if (entry == null)
+            return;
+
+        RectF bounds = animation.getBounds();
+        if (cell(bounds.left) == entry.minX && cell(bounds.top) == entry.minY
+                && cell(bounds.right) == entry.maxX && cell(bounds.bottom) == entry.maxY)
+            return;
+
+        removeFromCells(entry);
+        insert(entry);
+    }
+
+    /**
+     * Updates all the animations of this grid, see {@link #update(Animation)}
+     */
+    public void updateAll() {
+        for (IdentityMap.Entry<Animation, Entry> entry : entries)
+            update(entry.key);
+    }
+
+    public void clear() {
+        for (Array<Entry> cell : cells.values())
+            cell.clear();
+        oversized.clear();
+        entries.clear();
+    }
+
+    /**
+     * Adds to the given array the animations whose bounds overlap the given world rectangle. Each animation is added
+     * once, in no particular order.
+     *
+     * @param area world rectangle
+     * @param out  array the animations are added to
+     * @return the given array
+     */
+    public Array<Animation> query(Rectangle area, Array<Animation> out) {
+        int stamp = ++queryStamp;
+        float right = area.x + area.width, top = area.y + area.height;
+
+        for (int i = 0; i < oversized.size; i++) {
+            Entry entry = oversized.get(i);
+            entry.stamp = stamp;
+
+            if (entry.animation.getBounds().intersects(area.x, area.y, right, top))
+                out.add(entry.animation);
+        }
+
+        for (int x = cell(area.x), maxX = cell(right); x <= maxX; x++) {
+            for (int y = cell(area.y), maxY = cell(top); y <= maxY; y++) {
+                Array<Entry> cell = cells.get(key(x, y));
+                if (cell == null)
+                    continue;
+
+                for (int i = 0; i < cell.size; i++) {
+                    Entry entry = cell.get(i);
+                    if (entry.stamp == stamp)
+                        continue;
+                    entry.stamp = stamp;
+
+                    if (entry.animation.getBounds().intersects(area.x, area.y, right, top))
+                        out.add(entry.animation);
+                }
+            }
+        }
+        return out;
+    }
+
+    /**
+     * Returns the topmost animation with a visible sprite under the given world point
+     *
+     * @param x world x coordinate
+     * @param y world y coordinate
+     * @return the topmost animation under the point, null if none
+     */
+    @Null
+    public Animation pickAnimation(float x, float y) {
+        Entry entry = pickEntry(x, y);
+        return entry != null ? entry.animation : null;
+    }
+
+    /**
+     * Returns the topmost visible sprite under the given world point, across all animations of this grid
+     *
+     * @param x world x coordinate
+     * @param y world y coordinate
+     * @return the topmost sprite under the point, null if none
+     */
+    @Null
+    public Sprite pick(float x, float y) {
+        return pickEntry(x, y) != null ? picked : null;
+    }
+
+    private Entry pickEntry(float x, float y) {
+        picked = null;
+        Entry top = pickEntry(oversized, null, x, y);
+
+        Array<Entry> cell = cells.get(key(cell(x), cell(y)));
+        if (cell != null)
+            top = pickEntry(cell, top, x, y);
+        return top;
+    }
+
+    private Entry pickEntry(Array<Entry> candidates, Entry top, float x, float y) {
+        for (int i = 0; i < candidates.size; i++) {
+            Entry entry = candidates.get(i);
+            if (top != null && !entry.isAbove(top))
+                continue;
+
+            Sprite sprite = entry.animation.hit(x, y);
+            if (sprite != null) {
+                top = entry;
+                picked = sprite;
+            }
+        }
+        return top;
+    }
+
+    public int size() {
+        return entries.size;
+    }
+
+    public float getCellSize() {
+        return cellSize;
+    }
+
+    public int getMaxCells() {
+        return maxCells;
+    }
+
+    private void insert(Entry entry) {
+        RectF bounds = entry.animation.getBounds();
+        entry.minX = cell(bounds.left);
+        entry.minY = cell(bounds.top);
+        entry.maxX = cell(bounds.right);
+        entry.maxY = cell(bounds.bottom);
+
+        //long, the span of degenerate bounds overflows an int
+        long cellCount = Math.max((long) entry.maxX - entry.minX + 1, 0L) * Math.max((long) entry.maxY - entry.minY + 1, 0L);
+        entry.oversized = cellCount > maxCells;
+        if (entry.oversized) {
+            oversized.add(entry);
+            return;
+        }
+
+        for (int x = entry.minX; x <= entry.maxX; x++) {
+            for (int y = entry.minY; y <= entry.maxY; y++) {
+                long key = key(x, y);
+                Array<Entry> cell = cells.get(key);
+                if (cell == null) {
+                    cell = new Array<>(false, 4);
+                    cells.put(key, cell);
+                }
+                cell.add(entry);
+            }
+        }
+    }
+
+    private void removeFromCells(Entry entry) {
+        if (entry.oversized) {
+            oversized.removeValue(entry, true);
+            return;
+        }
+
+        for (int x = entry.minX; x <= entry.maxX; x++) {
+            for (int y = entry.minY; y <= entry.maxY; y++) {
+                Array<Entry> cell = cells.get(key(x, y));
+                if (cell != null)
+                    cell.removeValue(entry, true);
+            }
+        }
+    }
+
+    private int cell(float coordinate) {
+        return (int) Math.floor(coordinate / cellSize);
+    }
+
+    private static long key(int x, int y) {
+        return ((long) x << 32) | (y & 0xFFFFFFFFL);
+    }
+
+    private static class Entry {
+        final Animation animation;
+        final int order;
+        int depth;
+        int minX, minY, maxX, maxY;
+        boolean oversized;
+        int stamp;
+
+        Entry(Animation animation, int depth, int order) {
+            this.animation = animation;
+            this.depth = depth;
+            this.order = order;
+        }
+
+        boolean isAbove(Entry other) {
+            return depth != other.depth ? depth > other.depth : order > other.order;
+        }
+    }
+}
@@ -1,7 +1,9 @@
 package me.winter.gdx.animation;
 
+import com.badlogic.gdx.math.MathUtils;
 import com.badlogic.gdx.math.Rectangle;
 import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.utils.Null;
 
 import me.winter.gdx.animation.drawable.SpriteDrawable;
 import me.winter.gdx.animation.drawable.TextureSpriteDrawable;
@@ -34,34 +36,41 @@ public class Box {
      * @throws NullPointerException if info or boneOrObject is <code>null</code>
      */
     public void calcFor(AnimatedPart part) {
+        calcFor(part, part instanceof Sprite ? ((Sprite) part).getDrawable() : null);
+    }
+
+    /**
+     * Calculates its four points for the given bone or object as if it was drawn with the given drawable, for sprites
+     * drawn with another drawable than their own.
+     *
+     * @param part     the AnimatedPart
+     * @param drawable drawable giving the size and pivot of the box, null for a box without size
+     */
+    public void calcFor(AnimatedPart part, @Null SpriteDrawable drawable) {
         float width = 0;
         float height = 0;
         float pivotX = 0;
         float pivotY = 0;
-        if (part instanceof Sprite) {
-            SpriteDrawable drawable = ((Sprite) part).getDrawable();
-            Vector2 pivot = new Vector2();
-            Rectangle size = new Rectangle();
-            if (drawable instanceof TextureSpriteDrawable) {
-                pivot = ((TextureSpriteDrawable) drawable).getPivot();
-                size = ((TextureSpriteDrawable) drawable).getSize();
-            }
-            width = size.width * part.scale.x;
-            height = size.height * part.scale.y;
-            pivotX = width * pivot.x;
-            pivotY = height * pivot.y;
-//            System.out.println("------>>" + width + " " + height + " " + pivotX + " " + pivotY);
+        if (drawable instanceof TextureSpriteDrawable) {
+            TextureSpriteDrawable texture = (TextureSpriteDrawable) drawable;
+            width = texture.getWidth() * part.scale.x;
+            height = texture.getHeight() * part.scale.y;
+            pivotX = width * texture.getPivotX();
+            pivotY = height * texture.getPivotY();
         }
 
-        this.points[0].set(-pivotX, -pivotY);//left,top
-        this.points[1].set(width - pivotX, -pivotY);//top,right
-        this.points[2].set(-pivotX, height - pivotY);//left,bottom
-        this.points[3].set(width - pivotX, height - pivotY);//right,bottom
+        float radians = part.angle * MathUtils.degreesToRadians;
+        float cos = (float) Math.cos(radians);
+        float sin = (float) Math.sin(radians);
+
+        setPoint(0, -pivotX, -pivotY, cos, sin, part.position);//left,top
+        setPoint(1, width - pivotX, -pivotY, cos, sin, part.position);//top,right
+        setPoint(2, -pivotX, height - pivotY, cos, sin, part.position);//left,bottom
+        setPoint(3, width - pivotX, height - pivotY, cos, sin, part.position);//right,bottom
+    }
 
-        for (int i = 0; i < 4; i++)
-            this.points[i].rotate(part.angle);
-        for (int i = 0; i < 4; i++)
-            this.points[i].add(part.position);
+    private void setPoint(int index, float x, float y, float cos, float sin, Vector2 position) {
+        this.points[index].set(x * cos - y * sin + position.x, x * sin + y * cos + position.y);
     }
 
     /**
@@ -88,28 +97,44 @@ public class Box {
      * @throws NullPointerException if info or boneOrObject is <code>null</code>
      */
     public boolean collides(AnimatedPart part, float x, float y) {
+        return collides(part, part instanceof Sprite ? ((Sprite) part).getDrawable() : null, x, y);
+    }
+
+    /**
+     * Returns whether the given coordinates lie inside the box of the given bone or object drawn with the given
+     * drawable.
+     *
+     * @param part     the AnimatedPart
+     * @param drawable drawable giving the size and pivot of the box, null for a box without size
+     * @param x        the x coordinate
+     * @param y        the y coordinate
+     * @return <code>true</code> if the given point lies in the box
+     */
+    public boolean collides(AnimatedPart part, @Null SpriteDrawable drawable, float x, float y) {
         float width = 0;
         float height = 0;
         float pivotX = 0;
         float pivotY = 0;
-        if (part instanceof Sprite) {
-            SpriteDrawable drawable = ((Sprite) part).getDrawable();
-            Vector2 pivot = new Vector2();
-            Rectangle size = new Rectangle();
-            if (drawable instanceof TextureSpriteDrawable) {
-                pivot = ((TextureSpriteDrawable) drawable).getPivot();
-                size = ((TextureSpriteDrawable) drawable).getSize();
-            }
-            width = size.width * part.scale.x;
-            height = size.height * part.scale.y;
-            pivotX = width * pivot.x;
-            pivotY = height * pivot.y;
+        if (drawable instanceof TextureSpriteDrawable) {
+            TextureSpriteDrawable texture = (TextureSpriteDrawable) drawable;
+            width = texture.getWidth() * part.scale.x;
+            height = texture.getHeight() * part.scale.y;
+            pivotX = width * texture.getPivotX();
+            pivotY = height * texture.getPivotY();
         }
 
-        Vector2 point = new Vector2(x - part.position.x, y - part.position.y);
-        point.setAngleDeg(-part.angle);
+        //bring the point in the space of the part, rotating it by -angle
+        float radians = part.angle * MathUtils.degreesToRadians;
+        float cos = (float) Math.cos(radians);
+        float sin = (float) Math.sin(radians);
+        float dx = x - part.position.x;
+        float dy = y - part.position.y;
+        float localX = dx * cos + dy * sin;
+        float localY = dy * cos - dx * sin;
 
-        return point.x >= -pivotX && point.x <= width - pivotX && point.y >= -pivotY && point.y <= height - pivotY;
+        //negative scales flip the box around the pivot
+        return localX >= Math.min(-pivotX, width - pivotX) && localX <= Math.max(-pivotX, width - pivotX)
+                && localY >= Math.min(-pivotY, height - pivotY) && localY <= Math.max(-pivotY, height - pivotY);
     }
 
     /**
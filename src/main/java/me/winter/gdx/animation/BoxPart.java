@@ -0,0 +1,158 @@
+package me.winter.gdx.animation;
+
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.Vector2;
+
+/**
+ * Represents a collision box in a Spriter SCML file. A box is tweened like a bone and has the size given by the
+ * <code>obj_info</code> of its timeline, placed around the pivot of its current key. Once tweened by an {@link
+ * Animation}, its corners and hit tests are in world coordinates.
+ */
+public class BoxPart extends AnimatedPart {
+    private float width, height;
+    private float pivotX, pivotY;
+    private boolean visible = true;
+
+    public BoxPart() {
+        this(new Vector2(0, 0), new Vector2(1f, 1f), 0f, 0f, 0f, 0f, 1f);
+    }
+
+    public BoxPart(BoxPart other) {
+        super(other);
+
+        this.width = other.width;
+        this.height = other.height;
+        this.pivotX = other.pivotX;
+        this.pivotY = other.pivotY;
+    }
+
+    public BoxPart(Vector2 position, Vector2 scale, float angle, float width, float height, float pivotX, float pivotY) {
+        super(position, scale, angle);
+
+        this.width = width;
+        this.height = height;
+        this.pivotX = pivotX;
+        this.pivotY = pivotY;
+    }
+
+    @Override
+    public void set(AnimatedPart object) {
+        super.set(object);
+
+        if (object instanceof BoxPart) {
+            this.width = ((BoxPart) object).width;
+            this.height = ((BoxPart) object).height;
+            this.pivotX = ((BoxPart) object).pivotX;
+            this.pivotY = ((BoxPart) object).pivotY;
+        }
+    }
+
+    /**
+     * Writes the 4 corners of this box in the given array, counterclockwise from the corner at the origin of the box
+     * when its scale is positive
+     *
+     * @param vertices array to write the corners to, as x and y pairs
+     * @param offset   index of the first coordinate to write
+     * @return the given array
+     */
+    public float[] getCorners(float[] vertices, int offset) {
+        float radians = angle * MathUtils.degreesToRadians;
+        float cos = (float) Math.cos(radians);
+        float sin = (float) Math.sin(radians);
+
+        float left = -width * pivotX * scale.x;
+        float bottom = -height * pivotY * scale.y;
+        float right = left + width * scale.x;
+        float top = bottom + height * scale.y;
+
+        setCorner(vertices, offset, left, bottom, cos, sin);
+        setCorner(vertices, offset + 2, right, bottom, cos, sin);
+        setCorner(vertices, offset + 4, right, top, cos, sin);
+        setCorner(vertices, offset + 6, left, top, cos, sin);
+        return vertices;
+    }
+
+    private void setCorner(float[] vertices, int offset, float x, float y, float cos, float sin) {
+        vertices[offset] = position.x + x * cos - y * sin;
+        vertices[offset + 1] = position.y + x * sin + y * cos;
+    }
+
+    /**
+     * Returns whether the given point is in this box
+     *
+     * @param x x coordinate of the point
+     * @param y y coordinate of the point
+     * @return true if the point is in the box
+     */
+    public boolean contains(float x, float y) {
+        float radians = angle * MathUtils.degreesToRadians;
+        float cos = (float) Math.cos(radians);
+        float sin = (float) Math.sin(radians);
+
+        //rotate the point in the space of the box
+        float dx = x - position.x;
+        float dy = y - position.y;
+        float localX = dx * cos + dy * sin;
+        float localY = -dx * sin + dy * cos;
+
+        float left = -width * pivotX * scale.x;
+        float bottom = -height * pivotY * scale.y;
+        float right = left + width * scale.x;
+        float top = bottom + height * scale.y;
+
+        return localX >= Math.min(left, right) && localX <= Math.max(left, right)
+                && localY >= Math.min(bottom, top) && localY <= Math.max(bottom, top);
+    }
+
+    public float getWidth() {
+        return width;
+    }
+
+    public float getHeight() {
+        return height;
+    }
+
+    public float getPivotX() {
+        return pivotX;
+    }
+
+    public float getPivotY() {
+        return pivotY;
+    }
+
+    /**
+     * Sets the pivot of this box, as a ratio of its size
+     *
+     * @param pivotX horizontal pivot, 0 for the left side
+     * @param pivotY vertical pivot, 0 for the bottom side
+     */
+    public void setPivot(float pivotX, float pivotY) {
+        this.pivotX = pivotX;
+        this.pivotY = pivotY;
+    }
+
+    /**
+     * @return true if the box is in the current key of its animation
+     */
+    public boolean isVisible() {
+        return visible;
+    }
+
+    public void setVisible(boolean visible) {
+        this.visible = visible;
+    }
+
+    @Override
+    public String toString() {
+        return "BoxPart{" +
+                "width=" + width +
+                ", height=" + height +
+                ", pivotX=" + pivotX +
+                ", pivotY=" + pivotY +
+                ", visible=" + visible +
+                ", position=" + position +
+                ", scale=" + scale +
+                ", angle=" + angle +
+                '}';
+    }
+}
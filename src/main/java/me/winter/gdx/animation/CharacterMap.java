@@ -0,0 +1,86 @@
+package me.winter.gdx.animation;
+
+import com.badlogic.gdx.utils.Null;
+
+import me.winter.gdx.animation.drawable.SpriteDrawable;
+
+import java.util.Arrays;
+
+/**
+ * Represents a character map of a Spriter SCML file. A character map swaps the images of an entity for others, like
+ * armor sets or skins. It is a table from the folder and file of an image to the drawable replacing it, a null
+ * drawable hiding the image.
+ * <p>
+ * Character maps are applied when drawing through {@link SpriteOverrides#addCharacterMap(CharacterMap)}, they are
+ * immutable and can be shared by all the instances of an entity.
+ */
+public class CharacterMap {
+    private final String name;
+
+    private final int[] keys;
+    private final SpriteDrawable[] drawables;
+
+    /**
+     * @param name      name of the character map
+     * @param keys      file keys of the mapped images, see {@link SpriteOverrides#getFileKey(int, int)}
+     * @param drawables drawables replacing the images of the same index, null to hide an image
+     */
+    public CharacterMap(String name, int[] keys, SpriteDrawable[] drawables) {
+        if (keys.length != drawables.length)
+            throw new IllegalArgumentException("Character map " + name + " has " + keys.length + " keys but " + drawables.length + " drawables");
+
+        this.name = name;
+        this.keys = new int[keys.length];
+        this.drawables = new SpriteDrawable[keys.length];
+
+        //sort the keys to search them by bisection
+        Integer[] order = new Integer[keys.length];
+        for (int i = 0; i < order.length; i++)
+            order[i] = i;
+        Arrays.sort(order, (a, b) -> Integer.compare(keys[a], keys[b]));
+
+        for (int i = 0; i < order.length; i++) {
+            this.keys[i] = keys[order[i]];
+            this.drawables[i] = drawables[order[i]];
+        }
+    }
+
+    /**
+     * Returns the index of the mapping of an image
+     *
+     * @param folder folder id of the image
+     * @param file   file id of the image
+     * @return index of the mapping, negative if the image isn't mapped
+     */
+    public int indexOf(int folder, int file) {
+        return Arrays.binarySearch(keys, SpriteOverrides.getFileKey(folder, file));
+    }
+
+    /**
+     * @param index index of a mapping, see {@link #indexOf(int, int)}
+     * @return drawable replacing the image, null if the image is hidden
+     */
+    @Null
+    public SpriteDrawable getDrawable(int index) {
+        return drawables[index];
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return amount of images mapped
+     */
+    public int size() {
+        return keys.length;
+    }
+
+    @Override
+    public String toString() {
+        return "CharacterMap{" +
+                "name='" + name + '\'' +
+                ", size=" + keys.length +
+                '}';
+    }
+}
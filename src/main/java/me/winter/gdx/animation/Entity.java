@@ -2,6 +2,8 @@ package me.winter.gdx.animation;
 
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Null;
+import com.badlogic.gdx.utils.Pool.Poolable;
 
 import me.winter.gdx.animation.drawable.SpriteDrawable;
 import me.winter.gdx.animation.drawable.TintedSpriteDrawable;
@@ -14,9 +16,14 @@ import java.util.function.Consumer;
  *
  * @author Alexander Winter
  */
-public class Entity {
+public class Entity implements Poolable {
     private final String name;
     private final Array<Animation> animations;
+    private final NameIndex<Animation> animationIndex;
+    private final Array<CharacterMap> characterMaps = new Array<>();
+    private final NameIndex<CharacterMap> characterMapIndex = new NameIndex<>(characterMaps, CharacterMap::getName);
+    private final SpriteOverrides ownOverrides;
+    private SpriteOverrides overrides;
 
     public Entity(String name) {
         this(name, new Array<>());
@@ -25,14 +32,54 @@ public class Entity {
     public Entity(String name, Array<Animation> animations) {
         this.name = name;
         this.animations = animations;
+        this.animationIndex = new NameIndex<>(animations, Animation::getName);
+        this.ownOverrides = new SpriteOverrides();
+        setOverrides(ownOverrides);
     }
 
     public Entity(Entity entity) {
         this.name = entity.name;
         this.animations = new Array<>(entity.animations.size);
+        this.animationIndex = new NameIndex<>(animations, Animation::getName);
 
         for (Animation animation : entity.animations)
             animations.add(new Animation(animation));
+
+        characterMaps.addAll(entity.characterMaps);
+        this.ownOverrides = new SpriteOverrides(entity.overrides);
+        setOverrides(ownOverrides);
+    }
+
+    /**
+     * Returns the drawable and tint overrides shared by all the animations of this entity. Unlike {@link
+     * #setSpriteDrawable(String, SpriteDrawable)} and {@link #tintSprite(String, Color)}, changing them doesn't touch
+     * the keys of the animations and only affects this instance.
+     *
+     * @return overrides of this entity
+     */
+    public SpriteOverrides getOverrides() {
+        return overrides;
+    }
+
+    /**
+     * @return overrides this entity was created with, used unless overrides are set with {@link
+     * #setOverrides(SpriteOverrides)}
+     */
+    SpriteOverrides getOwnOverrides() {
+        return ownOverrides;
+    }
+
+    /**
+     * Sets the overrides of this entity and of all its animations. Overrides set this way can be shared with other
+     * entities, they are left untouched when this entity is reset.
+     *
+     * @param overrides overrides to share between the animations
+     */
+    public void setOverrides(SpriteOverrides overrides) {
+        this.overrides = overrides;
+
+        for (int i = 0; i < animations.size; i++)
+            animations.get(i).setOverrides(overrides);
     }
 
     public Array<SpriteDrawable> getSpriteDrawables(String name) {
@@ -79,6 +126,35 @@ public class Entity {
                         }
     }
 
+    /**
+     * Packs the keys of all the timelines of this entity, see {@link Timeline#compact(KeyframeStore.Quantization)}.
+     * Copies made afterwards share the packed channels.
+     *
+     * @param quantization precision of the packed channels
+     */
+    public void compact(KeyframeStore.Quantization quantization) {
+        for (int i = 0; i < animations.size; i++) {
+            Array<Timeline> timelines = animations.get(i).getTimelines();
+            for (int j = 0; j < timelines.size; j++)
+                timelines.get(j).compact(quantization);
+        }
+    }
+
+    /**
+     * Resets the state of all the animations and clears the overrides this entity was created with, see {@link
+     * Animation#resetState()}. Overrides given to {@link #setOverrides(SpriteOverrides)} may be shared, they are left
+     * untouched and replaced by the ones of this entity. Called by {@link EntityPool} when an entity is freed.
+     */
+    @Override
+    public void reset() {
+        for (int i = 0; i < animations.size; i++)
+            animations.get(i).resetState();
+
+        ownOverrides.clear();
+        if (overrides != ownOverrides)
+            setOverrides(ownOverrides);
+    }
+
     public void setTransformation(String timelineName, Consumer<AnimatedPart> transformation) {
         for (Animation animation : animations)
             if (transformation == null)
@@ -92,6 +168,17 @@ public class Entity {
             animation.getTransformations().clear();
     }
 
+    /**
+     * Sets whether all the animations of this entity only simulate their bones, see {@link
+     * Animation#setSimulationOnly(boolean)}
+     *
+     * @param simulationOnly true to only update bones
+     */
+    public void setSimulationOnly(boolean simulationOnly) {
+        for (int i = 0; i < animations.size; i++)
+            animations.get(i).setSimulationOnly(simulationOnly);
+    }
+
     public void setAlpha(float alpha) {
         for (Animation animation : animations)
             animation.setAlpha(alpha);
@@ -107,8 +194,15 @@ public class Entity {
         return animations.get(index);
     }
 
+    /**
+     * Returns the index of an animation, to switch animations every frame with {@link #getAnimation(int)} without
+     * looking up names
+     *
+     * @param name name of the animation
+     * @return index of the animation, -1 if not found
+     */
     public int getAnimationId(String name) {
-        return animations.indexOf(getAnimation(name), true);
+        return animationIndex.indexOf(name);
     }
 
     public int getAnimationId(Animation animation) {
@@ -122,17 +216,44 @@ public class Entity {
      * @return animation for the specified name
      */
     public Animation getAnimation(String name) {
-        for (Animation animation : animations)
-            if (animation.getName().equals(name))
-                return animation;
+        int index = animationIndex.indexOf(name);
+        return index != -1 ? animations.get(index) : null;
+    }
 
-        return null;
+    /**
+     * Returns a character map of this entity, apply it with {@link SpriteOverrides#addCharacterMap(CharacterMap)} on
+     * the overrides of this entity
+     *
+     * @param name name of the character map
+     * @return character map with the given name, null if none
+     */
+    @Null
+    public CharacterMap getCharacterMap(String name) {
+        int index = characterMapIndex.indexOf(name);
+        return index != -1 ? characterMaps.get(index) : null;
+    }
+
+    /**
+     * @return character maps of this entity, shared by all its copies
+     */
+    public Array<CharacterMap> getCharacterMaps() {
+        return characterMaps;
     }
 
     public String getName() {
         return name;
     }
 
+    /**
+     * Adds an animation to this entity, drawing with the overrides of this entity
+     *
+     * @param animation animation to add
+     */
+    public void addAnimation(Animation animation) {
+        animations.add(animation);
+        animation.setOverrides(overrides);
+    }
+
     public Array<Animation> getAnimations() {
         return animations;
     }
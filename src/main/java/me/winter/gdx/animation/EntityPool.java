@@ -0,0 +1,75 @@
+package me.winter.gdx.animation;
+
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Pool;
+
+/**
+ * Pool of copies of a source entity. Spawning from the pool reuses freed entities, reset by {@link Entity#reset()},
+ * instead of deep copying the source. Pre-warm it with {@link #fill(int)} so that spawns don't allocate.
+ * <p>
+ * When the pool already holds its maximum of free entities, freed entities are evicted to the garbage collector,
+ * {@link #getEvicted()} counts them to help choosing the maximum.
+ */
+public class EntityPool extends Pool<Entity> {
+    private final Entity source;
+
+    private int created = 0, evicted = 0;
+
+    public EntityPool(Entity source) {
+        this(source, 16, Integer.MAX_VALUE);
+    }
+
+    /**
+     * @param source          entity to copy, usually from {@link me.winter.gdx.animation.scml.SCMLProject#getEntity(int)}
+     * @param initialCapacity initial capacity of the pool, no entity is created before {@link #fill(int)}
+     * @param max             maximum amount of free entities kept
+     */
+    public EntityPool(Entity source, int initialCapacity, int max) {
+        super(initialCapacity, max);
+        this.source = source;
+    }
+
+    @Override
+    protected Entity newObject() {
+        created++;
+        return new Entity(source);
+    }
+
+    @Override
+    public void free(Entity entity) {
+        if (getFree() >= max)
+            evicted++;
+        super.free(entity);
+    }
+
+    @Override
+    public void freeAll(Array<Entity> entities) {
+        for (int i = 0; i < entities.size; i++)
+            if (entities.get(i) != null)
+                free(entities.get(i));
+    }
+
+    public Entity getSource() {
+        return source;
+    }
+
+    /**
+     * @return amount of entities copied from the source, by spawns on an empty pool or by {@link #fill(int)}
+     */
+    public int getCreated() {
+        return created;
+    }
+
+    /**
+     * @return amount of freed entities dropped because the pool was full
+     */
+    public int getEvicted() {
+        return evicted;
+    }
+
+    public void resetStatistics() {
+        created = 0;
+        evicted = 0;
+        peak = 0;
+    }
+}
@@ -0,0 +1,345 @@
+package me.winter.gdx.animation;
+
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.IdentityMap;
+
+import me.winter.gdx.animation.math.Curve.CurveType;
+
+import static java.lang.Math.abs;
+import static me.winter.gdx.animation.math.Interpolator.linear;
+import static me.winter.gdx.animation.math.Interpolator.spinAngle;
+
+/**
+ * Removes the keys of timelines that tweening their neighbours reconstructs within tolerances, like the middle keys of
+ * linear runs often found in Spriter exports. Fewer keys take less memory and are found faster.
+ * <p>
+ * A key is only removed inside a run of linear keys of the same spin, with the same image and z-index for sprites and
+ * the same size and pivot for boxes, and where the mainline keys are linear. The tweened values are then piecewise
+ * linear, so the error is measured exactly at the removed keys. First and last keys are always kept. The references of
+ * the mainline keys are remapped to the remaining keys, keeping their parents.
+ * <p>
+ * Reduction modifies the animations in place and is meant to be done once after loading, before the entities are
+ * copied or played and before their timelines are compacted, compact timelines being left as is. Errors are
+ * accumulated over every reduced animation until {@link #clear()}.
+ */
+public class KeyframeReducer {
+    private float positionTolerance = 0.01f, angleTolerance = 0.01f, scaleTolerance = 0.001f, alphaTolerance = 0.001f;
+
+    private final Array<TimelineKey> reducedKeys = new Array<>();
+    private final IdentityMap<ObjectRef, ObjectRef> refMap = new IdentityMap<>();
+    private int[] keyMap = new int[0];
+
+    private int removedKeys, keptKeys;
+    private float maxPositionError, maxAngleError, maxScaleError, maxAlphaError;
+
+    /**
+     * Reduces the keys of all the animations of an entity
+     *
+     * @param entity entity to reduce
+     * @return amount of removed keys
+     */
+    public int reduce(Entity entity) {
+        int removed = 0;
+        Array<Animation> animations = entity.getAnimations();
+        for (int i = 0; i < animations.size; i++)
+            removed += reduce(animations.get(i));
+        return removed;
+    }
+
+    /**
+     * Reduces the keys of the timelines of an animation and remaps its mainline
+     *
+     * @param animation animation to reduce
+     * @return amount of removed keys
+     */
+    public int reduce(Animation animation) {
+        int removed = 0;
+        Array<Timeline> timelines = animation.getTimelines();
+        Array<MainlineKey> mainlineKeys = animation.getMainline().getKeys();
+
+        for (int i = 0; i < timelines.size; i++) {
+            Timeline timeline = timelines.get(i);
+            int count = reduce(timeline, mainlineKeys);
+            if (count == 0)
+                continue;
+
+            removed += count;
+            remap(timeline.getId(), mainlineKeys);
+        }
+        return removed;
+    }
+
+    /**
+     * Removes the redundant keys of a timeline, greedily extending a span from the last kept key as long as the keys
+     * it skips are reconstructed within tolerances
+     *
+     * @return amount of removed keys, {@link #keyMap} then maps the previous indices of the keys to the new ones
+     */
+    private int reduce(Timeline timeline, Array<MainlineKey> mainlineKeys) {
+        Array<TimelineKey> keys = timeline.getKeys();
+        if (keys.size < 3 || timeline.isCompact()) {
+            keptKeys += keys.size;
+            return 0;
+        }
+
+        if (keyMap.length < keys.size)
+            keyMap = new int[keys.size];
+
+        reducedKeys.clear();
+        keyMap[0] = 0;
+        reducedKeys.add(keys.get(0));
+
+        int prev = 0;
+        for (int next = 2; next <= keys.size; next++) {
+            if (next < keys.size && canSkip(keys, prev, next, mainlineKeys))
+                continue;
+
+            //keys between prev and next - 1 are skipped and show the tween from prev
+            for (int i = prev + 1; i < next - 1; i++) {
+                keyMap[i] = reducedKeys.size - 1;
+                measure(keys, prev, next - 1, i);
+            }
+
+            keyMap[next - 1] = reducedKeys.size;
+            reducedKeys.add(keys.get(next - 1));
+            prev = next - 1;
+        }
+
+        int removed = keys.size - reducedKeys.size;
+        if (removed > 0) {
+            keys.clear();
+            keys.addAll(reducedKeys);
+        }
+        reducedKeys.clear();
+
+        removedKeys += removed;
+        keptKeys += keys.size;
+        return removed;
+    }
+
+    /**
+     * @return true if tweening from prev to next reconstructs the keys in between
+     */
+    private boolean canSkip(Array<TimelineKey> keys, int prev, int next, Array<MainlineKey> mainlineKeys) {
+        TimelineKey first = keys.get(prev), last = keys.get(next);
+
+        for (int i = prev; i < next; i++) {
+            TimelineKey key = keys.get(i);
+            if (key.getCurve().getType() != CurveType.LINEAR || key.getSpin() != first.getSpin())
+                return false;
+
+            if (i > prev && !KeyframeStore.sameImage(first.getObject(), key.getObject()))
+                return false;
+        }
+
+        if (!linearMainline(mainlineKeys, first.getTime(), last.getTime()))
+            return false;
+
+        for (int i = prev + 1; i < next; i++) {
+            if (!withinTolerance(keys, prev, next, i))
+                return false;
+        }
+        return true;
+    }
+
+    private boolean withinTolerance(Array<TimelineKey> keys, int prev, int next, int index) {
+        TimelineKey first = keys.get(prev), last = keys.get(next), key = keys.get(index);
+        AnimatedPart a = first.getObject(), b = last.getObject(), obj = key.getObject();
+        float t = (key.getTime() - first.getTime()) / (float) (last.getTime() - first.getTime());
+
+        return positionError(a, b, obj, t) <= positionTolerance
+                && angleError(keys, prev, next, index, t) <= angleTolerance
+                && scaleError(a, b, obj, t) <= scaleTolerance
+                && alphaError(a, b, obj, t) <= alphaTolerance;
+    }
+
+    /**
+     * Records the error of a removed key
+     */
+    private void measure(Array<TimelineKey> keys, int prev, int next, int index) {
+        TimelineKey first = keys.get(prev), last = keys.get(next), key = keys.get(index);
+        AnimatedPart a = first.getObject(), b = last.getObject(), obj = key.getObject();
+        float t = (key.getTime() - first.getTime()) / (float) (last.getTime() - first.getTime());
+
+        maxPositionError = Math.max(maxPositionError, positionError(a, b, obj, t));
+        maxAngleError = Math.max(maxAngleError, angleError(keys, prev, next, index, t));
+        maxScaleError = Math.max(maxScaleError, scaleError(a, b, obj, t));
+        maxAlphaError = Math.max(maxAlphaError, alphaError(a, b, obj, t));
+    }
+
+    private static float positionError(AnimatedPart a, AnimatedPart b, AnimatedPart obj, float t) {
+        float x = linear(a.position.x, b.position.x, t) - obj.position.x;
+        float y = linear(a.position.y, b.position.y, t) - obj.position.y;
+        return (float) Math.sqrt(x * x + y * y);
+    }
+
+    private static float scaleError(AnimatedPart a, AnimatedPart b, AnimatedPart obj, float t) {
+        return Math.max(abs(linear(a.scale.x, b.scale.x, t) - obj.scale.x),
+                abs(linear(a.scale.y, b.scale.y, t) - obj.scale.y));
+    }
+
+    private static float alphaError(AnimatedPart a, AnimatedPart b, AnimatedPart obj, float t) {
+        if (!(obj instanceof Sprite))
+            return 0f;
+
+        return abs(linear(((Sprite) a).getAlpha(), ((Sprite) b).getAlpha(), t) - ((Sprite) obj).getAlpha());
+    }
+
+    /**
+     * Compares the angle of a key, unwrapped along the spins of the original keys, with the angle tweened from prev to
+     * next. Without spin, angles aren't tweened and each key holds its own angle.
+     */
+    private static float angleError(Array<TimelineKey> keys, int prev, int next, int index, float t) {
+        TimelineKey first = keys.get(prev);
+        float a = first.getObject().angle, b = keys.get(next).getObject().angle;
+
+        if (first.getSpin() == 0)
+            return abs(wrap(keys.get(index).getObject().angle - a));
+
+        float unwrapped = a;
+        for (int i = prev; i < index; i++) {
+            float from = keys.get(i).getObject().angle, to = keys.get(i + 1).getObject().angle;
+            unwrapped += spinAngle(from, to, 1f, first.getSpin()) - from;
+        }
+
+        return abs(unwrapped - spinAngle(a, b, t, first.getSpin()));
+    }
+
+    private static float wrap(float angle) {
+        angle %= 360f;
+        if (angle > 180f)
+            return angle - 360f;
+        if (angle < -180f)
+            return angle + 360f;
+        return angle;
+    }
+
+    /**
+     * @return true if the mainline keys active between the given times ease linearly
+     */
+    private static boolean linearMainline(Array<MainlineKey> mainlineKeys, int from, int to) {
+        for (int i = 0; i < mainlineKeys.size; i++) {
+            MainlineKey key = mainlineKeys.get(i);
+            int end = i + 1 < mainlineKeys.size ? mainlineKeys.get(i + 1).time : Integer.MAX_VALUE;
+
+            if (end > from && key.time < to && key.curve.getType() != CurveType.LINEAR)
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * Replaces the references to a reduced timeline by references to its remaining keys
+     */
+    private void remap(int timeline, Array<MainlineKey> mainlineKeys) {
+        for (int i = 0; i < mainlineKeys.size; i++) {
+            Array<ObjectRef> refs = mainlineKeys.get(i).objectRefs;
+
+            refMap.clear();
+            for (int j = 0; j < refs.size; j++)
+                refs.set(j, remap(refs.get(j), timeline));
+        }
+        refMap.clear();
+    }
+
+    private ObjectRef remap(ObjectRef ref, int timeline) {
+        ObjectRef remapped = refMap.get(ref);
+        if (remapped != null)
+            return remapped;
+
+        ObjectRef parent = ref.parent != null ? remap(ref.parent, timeline) : null;
+        int key = ref.timeline == timeline ? keyMap[ref.key] : ref.key;
+
+        remapped = parent == ref.parent && key == ref.key ? ref : new ObjectRef(ref.timeline, key, parent);
+        refMap.put(ref, remapped);
+        return remapped;
+    }
+
+    public void clear() {
+        removedKeys = 0;
+        keptKeys = 0;
+        maxPositionError = 0f;
+        maxAngleError = 0f;
+        maxScaleError = 0f;
+        maxAlphaError = 0f;
+    }
+
+    /**
+     * Sets the tolerances of the reconstructed keys, the defaults being invisible at usual scales
+     *
+     * @param position maximum distance of the positions
+     * @param angle    maximum difference of the angles in degrees
+     * @param scale    maximum difference of the scales
+     * @param alpha    maximum difference of the alphas
+     */
+    public void setTolerances(float position, float angle, float scale, float alpha) {
+        this.positionTolerance = position;
+        this.angleTolerance = angle;
+        this.scaleTolerance = scale;
+        this.alphaTolerance = alpha;
+    }
+
+    public float getPositionTolerance() {
+        return positionTolerance;
+    }
+
+    public float getAngleTolerance() {
+        return angleTolerance;
+    }
+
+    public float getScaleTolerance() {
+        return scaleTolerance;
+    }
+
+    public float getAlphaTolerance() {
+        return alphaTolerance;
+    }
+
+    /**
+     * @return amount of keys removed since the last {@link #clear()}
+     */
+    public int getRemovedKeyCount() {
+        return removedKeys;
+    }
+
+    /**
+     * @return amount of keys kept since the last {@link #clear()}
+     */
+    public int getKeptKeyCount() {
+        return keptKeys;
+    }
+
+    /**
+     * @return maximum distance between a removed key and its reconstructed position
+     */
+    public float getMaxPositionError() {
+        return maxPositionError;
+    }
+
+    /**
+     * @return maximum difference in degrees between a removed key and its reconstructed angle
+     */
+    public float getMaxAngleError() {
+        return maxAngleError;
+    }
+
+    public float getMaxScaleError() {
+        return maxScaleError;
+    }
+
+    public float getMaxAlphaError() {
+        return maxAlphaError;
+    }
+
+    @Override
+    public String toString() {
+        return "KeyframeReducer{" +
+                "removedKeys=" + removedKeys +
+                ", keptKeys=" + keptKeys +
+                ", maxPositionError=" + maxPositionError +
+                ", maxAngleError=" + maxAngleError +
+                ", maxScaleError=" + maxScaleError +
+                ", maxAlphaError=" + maxAlphaError +
+                '}';
+    }
+}
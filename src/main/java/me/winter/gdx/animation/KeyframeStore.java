@@ -0,0 +1,351 @@
+package me.winter.gdx.animation;
+
+import com.badlogic.gdx.utils.Array;
+
+/**
+ * Compact storage of the keys of a {@link Timeline}. Instead of a part with two vectors per key, the tweened channels
+ * of all the keys are packed in primitive arrays, quantized on 16 bits over the range of the channel or kept as 32-bit
+ * floats. A channel with the same value in every key takes no array at all, like the scale or alpha of most timelines.
+ * <p>
+ * What isn't tweened, the image and z-index of sprites or the size of boxes, is kept in prototype parts shared by all
+ * the keys with the same values. Keys of a compact timeline reference their prototype as object, so walking the keys to
+ * change drawables keeps working, but the transform of these objects isn't the one of the keys: use {@link
+ * #decode(int, AnimatedPart)} to read a key.
+ * <p>
+ * Channels are immutable and shared by the copies of a store, prototypes are copied to let each copy change drawables.
+ */
+public class KeyframeStore {
+    private final int size;
+    private final Channel x, y, angle, scaleX, scaleY, alpha;
+
+    private final AnimatedPart[] prototypes;
+    private final short[] prototypeIndices;
+
+    /**
+     * Packs the given keys
+     *
+     * @param keys         keys of a timeline, all with an object of the same type
+     * @param quantization precision of the channels
+     */
+    public KeyframeStore(Array<TimelineKey> keys, Quantization quantization) {
+        size = keys.size;
+
+        float[] values = new float[size];
+
+        for (int i = 0; i < size; i++)
+            values[i] = keys.get(i).getObject().position.x;
+        x = new Channel(values, quantization.positionBits);
+
+        for (int i = 0; i < size; i++)
+            values[i] = keys.get(i).getObject().position.y;
+        y = new Channel(values, quantization.positionBits);
+
+        for (int i = 0; i < size; i++)
+            values[i] = keys.get(i).getObject().angle;
+        Channel angle = new Channel(values, quantization.angleBits);
+
+        //spins wrap depending on which of two angles is the greatest, keep the angles exact if rounding made some equal
+        for (int i = 0; i < size; i++) {
+            int next = (i + 1) % size;
+            if (values[i] != values[next] && angle.get(i) == angle.get(next)) {
+                angle = new Channel(values, 32);
+                break;
+            }
+        }
+        this.angle = angle;
+
+        for (int i = 0; i < size; i++)
+            values[i] = keys.get(i).getObject().scale.x;
+        scaleX = new Channel(values, quantization.scaleBits);
+
+        for (int i = 0; i < size; i++)
+            values[i] = keys.get(i).getObject().scale.y;
+        scaleY = new Channel(values, quantization.scaleBits);
+
+        for (int i = 0; i < size; i++) {
+            AnimatedPart object = keys.get(i).getObject();
+            values[i] = object instanceof Sprite ? ((Sprite) object).getAlpha() : 1f;
+        }
+        alpha = new Channel(values, quantization.alphaBits);
+
+        //share a prototype between the keys with the same image
+        Array<AnimatedPart> distinct = new Array<>(false, 4);
+        short[] indices = new short[size];
+
+        for (int i = 0; i < size; i++) {
+            AnimatedPart object = keys.get(i).getObject();
+
+            int index = -1;
+            for (int j = 0; j < distinct.size; j++) {
+                if (sameImage(distinct.get(j), object)) {
+                    index = j;
+                    break;
+                }
+            }
+
+            if (index == -1) {
+                if (distinct.size > Short.MAX_VALUE)
+                    throw new IllegalArgumentException("Too many distinct images to compact: " + distinct.size);
+
+                index = distinct.size;
+                distinct.add(object.clone());
+            }
+            indices[i] = (short) index;
+        }
+
+        prototypes = new AnimatedPart[distinct.size];
+        for (int i = 0; i < distinct.size; i++)
+            prototypes[i] = distinct.get(i);
+
+        prototypeIndices = prototypes.length > 1 ? indices : null;
+    }
+
+    public KeyframeStore(KeyframeStore other) {
+        size = other.size;
+        x = other.x;
+        y = other.y;
+        angle = other.angle;
+        scaleX = other.scaleX;
+        scaleY = other.scaleY;
+        alpha = other.alpha;
+
+        prototypes = new AnimatedPart[other.prototypes.length];
+        for (int i = 0; i < prototypes.length; i++)
+            prototypes[i] = other.prototypes[i].clone();
+
+        prototypeIndices = other.prototypeIndices;
+    }
+
+    /**
+     * Writes a key to the given part, its transform and, if the types match, its image and alpha
+     *
+     * @param key index of the key
+     * @param out part to write to
+     * @return the given part
+     */
+    public AnimatedPart decode(int key, AnimatedPart out) {
+        out.set(getPrototype(key));
+        out.setAngle(getAngle(key));
+        out.getPosition().set(getX(key), getY(key));
+        out.getScale().set(getScaleX(key), getScaleY(key));
+
+        if (out instanceof Sprite)
+            ((Sprite) out).setAlpha(getAlpha(key));
+        return out;
+    }
+
+    /**
+     * @param key index of the key
+     * @return part holding the image of the key and, for sprites, its z-index. Its transform isn't the one of the key.
+     */
+    public AnimatedPart getPrototype(int key) {
+        return prototypes[prototypeIndices == null ? 0 : prototypeIndices[key]];
+    }
+
+    public float getX(int key) {
+        return x.get(key);
+    }
+
+    public float getY(int key) {
+        return y.get(key);
+    }
+
+    public float getAngle(int key) {
+        return angle.get(key);
+    }
+
+    public float getScaleX(int key) {
+        return scaleX.get(key);
+    }
+
+    public float getScaleY(int key) {
+        return scaleY.get(key);
+    }
+
+    /**
+     * @param key index of the key
+     * @return alpha of the key, 1 if the timeline isn't a sprite timeline
+     */
+    public float getAlpha(int key) {
+        return alpha.get(key);
+    }
+
+    /**
+     * @return amount of keys
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return amount of distinct prototypes
+     */
+    public int getPrototypeCount() {
+        return prototypes.length;
+    }
+
+    /**
+     * @return bytes of the arrays of the channels, shared by the copies of this store
+     */
+    public int getChannelBytes() {
+        return x.bytes() + y.bytes() + angle.bytes() + scaleX.bytes() + scaleY.bytes() + alpha.bytes();
+    }
+
+    /**
+     * @return bytes of the prototype indices, shared by the copies of this store
+     */
+    public int getIndexBytes() {
+        return prototypeIndices == null ? 0 : prototypeIndices.length * 2;
+    }
+
+    /**
+     * @return the largest error introduced by quantization in the channels of position
+     */
+    public float getPositionError() {
+        return Math.max(x.error, y.error);
+    }
+
+    /**
+     * @return the largest error introduced by quantization in the angle channel, in degrees
+     */
+    public float getAngleError() {
+        return angle.error;
+    }
+
+    public float getScaleError() {
+        return Math.max(scaleX.error, scaleY.error);
+    }
+
+    public float getAlphaError() {
+        return alpha.error;
+    }
+
+    /**
+     * @return object identifying the channels of this store, shared with its copies
+     */
+    Object getSharedChannels() {
+        return x;
+    }
+
+    /**
+     * @return true if the parts show the same image, or have the same box
+     */
+    static boolean sameImage(AnimatedPart a, AnimatedPart b) {
+        if (a.getClass() != b.getClass())
+            return false;
+
+        if (a instanceof Sprite) {
+            Sprite s1 = (Sprite) a, s2 = (Sprite) b;
+            return s1.getFolder() == s2.getFolder() && s1.getFile() == s2.getFile()
+                    && s1.getDrawable() == s2.getDrawable() && s1.getZIndex() == s2.getZIndex();
+        }
+
+        if (a instanceof BoxPart) {
+            BoxPart b1 = (BoxPart) a, b2 = (BoxPart) b;
+            return b1.getWidth() == b2.getWidth() && b1.getHeight() == b2.getHeight()
+                    && b1.getPivotX() == b2.getPivotX() && b1.getPivotY() == b2.getPivotY();
+        }
+        return true;
+    }
+
+    /**
+     * Values of a channel for every key. Quantized values are unsigned steps from the minimum of the channel.
+     */
+    private static final class Channel {
+        private final float min, step, error;
+        private final short[] quantized;
+        private final float[] values;
+
+        Channel(float[] source, int bits) {
+            if (bits != 16 && bits != 32)
+                throw new IllegalArgumentException("Channels are stored on 16 or 32 bits: " + bits);
+
+            float min = source.length > 0 ? source[0] : 0f, max = min;
+            for (int i = 1; i < source.length; i++) {
+                min = Math.min(min, source[i]);
+                max = Math.max(max, source[i]);
+            }
+            this.min = min;
+
+            if (min == max) {
+                step = 0f;
+                error = 0f;
+                quantized = null;
+                values = null;
+            } else if (bits == 32) {
+                step = 0f;
+                error = 0f;
+                quantized = null;
+                values = source.clone();
+            } else {
+                step = (max - min) / 65535f;
+                quantized = new short[source.length];
+                values = null;
+
+                float error = 0f;
+                for (int i = 0; i < source.length; i++) {
+                    int value = Math.min(Math.round((source[i] - min) / step), 65535);
+                    quantized[i] = (short) value;
+                    error = Math.max(error, Math.abs(get(i) - source[i]));
+                }
+                this.error = error;
+            }
+        }
+
+        float get(int index) {
+            if (quantized != null)
+                return min + (quantized[index] & 0xFFFF) * step;
+            if (values != null)
+                return values[index];
+            return min;
+        }
+
+        int bytes() {
+            return quantized != null ? quantized.length * 2 : values != null ? values.length * 4 : 0;
+        }
+    }
+
+    /**
+     * Precision of the channels of a store, each stored on 16 or 32 bits. 16 bits give a step of 1/65535 of the range
+     * of the channel in the timeline, 32 bits keep the exact values.
+     */
+    public static class Quantization {
+        /**
+         * Every channel on 16 bits, under 0.006 degree per step for angles
+         */
+        public static final Quantization DEFAULT = new Quantization(16, 16, 16, 16);
+
+        /**
+         * Every channel on 32 bits, only the constant channels and the shared prototypes save memory
+         */
+        public static final Quantization LOSSLESS = new Quantization(32, 32, 32, 32);
+
+        public final int positionBits, angleBits, scaleBits, alphaBits;
+
+        public Quantization(int positionBits, int angleBits, int scaleBits, int alphaBits) {
+            this.positionBits = positionBits;
+            this.angleBits = angleBits;
+            this.scaleBits = scaleBits;
+            this.alphaBits = alphaBits;
+        }
+
+        @Override
+        public String toString() {
+            return "Quantization{" +
+                    "positionBits=" + positionBits +
+                    ", angleBits=" + angleBits +
+                    ", scaleBits=" + scaleBits +
+                    ", alphaBits=" + alphaBits +
+                    '}';
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "KeyframeStore{" +
+                "size=" + size +
+                ", prototypes=" + prototypes.length +
+                ", channelBytes=" + getChannelBytes() +
+                '}';
+    }
+}
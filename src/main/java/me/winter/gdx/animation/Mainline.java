@@ -45,20 +45,39 @@ public class Mainline {
     }
 
     public Pair<MainlineKey, Integer> getKeyBeforeTime2(int time, boolean wrapAround) {
-        MainlineKey found = wrapAround ? keys.get(keys.size - 1) : keys.get(0);
+        return getKeyPair(getKeyIndexBeforeTime(time, wrapAround));
+    }
+
+    /**
+     * Returns the key at the given index in the pair shared by the calls of this mainline, like {@link
+     * #getKeyBeforeTime2(int, boolean)}
+     *
+     * @param index index of the key
+     * @return pair of the key and its index
+     */
+    public Pair<MainlineKey, Integer> getKeyPair(int index) {
+        tempKeyPair.first = keys.get(index);
+        tempKeyPair.second = index;
+        return tempKeyPair;
+    }
 
+    /**
+     * Returns the index of the last previous MainlineKey before specified time. Unlike
+     * {@link #getKeyBeforeTime2(int, boolean)}, doesn't write to any state of this mainline.
+     *
+     * @param time       the time a key has to be before
+     * @param wrapAround true if should wrap around the timeline, otherwise false
+     * @return index of the last previous key before specified time, when not found index of the first one
+     */
+    public int getKeyIndexBeforeTime(int time, boolean wrapAround) {
         int index = wrapAround ? keys.size - 1 : 0;
 
         for (int i = 0; i < keys.size; i++) {
-            MainlineKey key = keys.get(i);
-            if (key.time > time) break;
-            found = key;
+            if (keys.get(i).time > time) break;
             index = i;
         }
 
-        tempKeyPair.first = found;
-        tempKeyPair.second = index;
-        return tempKeyPair;
+        return index;
     }
 
     public MainlineKey getKey(int index) {
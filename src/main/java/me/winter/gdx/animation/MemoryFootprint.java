@@ -0,0 +1,277 @@
+package me.winter.gdx.animation;
+
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.ObjectSet;
+
+import me.winter.gdx.animation.math.Curve;
+import me.winter.gdx.animation.math.Curve.CurveType;
+
+/**
+ * Estimates the heap used by entities and animations. Shared data is what copies of an entity reference instead of
+ * copying, like {@link Curve}s, the channels of compact timelines, {@link TimeIndex}es and overrides set with {@link
+ * Entity#setOverrides(SpriteOverrides)}, each counted once. Instance data is what {@link Entity#Entity(Entity)}
+ * copies: timelines and their keys, the mainline and its references, the state of the animations, the overrides each
+ * entity is created with, and the copies of nested animations made so far. Measuring a source entity thus gives the
+ * cost of each spawned copy, before it draws any nested animation. Time indexes are built when measured, like when
+ * copied.
+ * <p>
+ * Sizes are estimated from the fields of the classes for a 64-bit JVM with compressed references, the layout of an
+ * actual JVM may differ slightly. Names, drawables and textures aren't counted, they belong to the project and its
+ * atlas. A footprint can be reused to measure every frame without allocating once warmed up.
+ */
+public class MemoryFootprint {
+    private static final int HEADER = 12, ARRAY_HEADER = 16, REFERENCE = 4;
+
+    private static final int VECTOR = size(0, 8);
+    private static final int PART = size(2, 36) + 2 * VECTOR;
+    private static final int SPRITE = size(4, 57) + 2 * VECTOR;
+    private static final int TIMELINE_KEY = size(2, 8);
+    private static final int TIMELINE = size(3, 5);
+    private static final int KEYFRAME_STORE = size(8, 4);
+    private static final int CHANNEL = size(2, 12);
+    private static final int MAINLINE_KEY = size(2, 4);
+    private static final int OBJECT_REF = size(1, 8);
+    private static final int MAINLINE = size(2, 0) + size(2, 0);
+    private static final int CURVE = size(3, 4) + size(1, 16);
+    private static final int POLYNOMIAL_EVALUATOR = size(0, 20);
+    private static final int BEZIER_EVALUATOR = size(1, 32) + ARRAY_HEADER + (Curve.BEZIER_SEGMENTS + 1) * 4;
+    private static final int ANIMATION = size(32, 72) + 3 * size(0, 16) + 2 * size(0, 16) + size(0, 16) + size(8, 28)
+            + 4 * size(0, 16);
+    private static final int ENTITY = size(5, 0) + size(4, 4);
+    private static final int OVERRIDES = size(5, 8) + 3 * size(6, 24);
+    private static final int TIME_INDEX = size(4, 8) + 2 * ARRAY_HEADER;
+
+    private final ObjectSet<Curve> curveSet = new ObjectSet<>();
+    private final ObjectSet<Object> channelSet = new ObjectSet<>();
+    private final ObjectSet<Object> sharedSet = new ObjectSet<>();
+
+    private long sharedBytes, instanceBytes;
+    private int entities, animations, timelines, timelineKeys, mainlineKeys, objectRefs, curves, parts;
+
+    /**
+     * Adds an entity and its animations to this footprint
+     *
+     * @param entity entity to measure
+     * @return this footprint for chaining
+     */
+    public MemoryFootprint add(Entity entity) {
+        entities++;
+        instanceBytes += ENTITY + OVERRIDES + array(entity.getAnimations());
+
+        //the own overrides of an entity exist even when it draws with overrides set on many entities
+        if (entity.getOverrides() != entity.getOwnOverrides() && sharedSet.add(entity.getOverrides()))
+            sharedBytes += OVERRIDES;
+
+        Array<Animation> animations = entity.getAnimations();
+        for (int i = 0; i < animations.size; i++)
+            add(animations.get(i));
+        return this;
+    }
+
+    /**
+     * Adds entities and their animations to this footprint, like the source entities of a project
+     *
+     * @param entities entities to measure
+     * @return this footprint for chaining
+     */
+    public MemoryFootprint addAll(Array<Entity> entities) {
+        for (int i = 0; i < entities.size; i++)
+            add(entities.get(i));
+        return this;
+    }
+
+    /**
+     * Adds an animation, its mainline, its timelines and the copies of its nested animations to this footprint
+     *
+     * @param animation animation to measure
+     * @return this footprint for chaining
+     */
+    public MemoryFootprint add(Animation animation) {
+        animations++;
+
+        Array<Timeline> timelines = animation.getTimelines();
+        Array<AnimatedPart> parts = animation.getParts();
+
+        //animation state, its tweened parts and its per timeline arrays
+        instanceBytes += ANIMATION + PART + array(parts) + array(timelines)
+                + 4 * align(ARRAY_HEADER + timelines.size * REFERENCE);
+        for (int i = 0; i < parts.size; i++) {
+            if (parts.get(i) != null)
+                instanceBytes += parts.get(i) instanceof Sprite ? SPRITE + 2L * REFERENCE : PART;
+        }
+        this.parts += parts.size;
+
+        Array<MainlineKey> keys = animation.getMainline().getKeys();
+        instanceBytes += MAINLINE + array(keys);
+        mainlineKeys += keys.size;
+        for (int i = 0; i < keys.size; i++) {
+            MainlineKey key = keys.get(i);
+            instanceBytes += MAINLINE_KEY + array(key.objectRefs) + (long) OBJECT_REF * key.objectRefs.size;
+            objectRefs += key.objectRefs.size;
+            addCurve(key.curve);
+        }
+
+        if (animation.isTimeIndexed() && sharedSet.add(animation.getTimeIndex()))
+            sharedBytes += TIME_INDEX + animation.getTimeIndex().getByteSize();
+
+        for (int i = 0; i < timelines.size; i++)
+            add(timelines.get(i));
+
+        for (int i = 0; i < timelines.size; i++) {
+            Animation child = animation.getChild(i);
+            if (child != null)
+                add(child);
+        }
+        return this;
+    }
+
+    private void add(Timeline timeline) {
+        timelines++;
+
+        Array<TimelineKey> keys = timeline.getKeys();
+        instanceBytes += TIMELINE + array(keys);
+        timelineKeys += keys.size;
+
+        KeyframeStore store = timeline.getStore();
+        if (store != null)
+            add(store, keys.size > 0 && keys.get(0).getObject() instanceof Sprite);
+
+        for (int i = 0; i < keys.size; i++) {
+            TimelineKey key = keys.get(i);
+            instanceBytes += TIMELINE_KEY;
+            if (key.getObject() != null && store == null)
+                instanceBytes += key.getObject() instanceof Sprite ? SPRITE : PART;
+            addCurve(key.getCurve());
+        }
+    }
+
+    /**
+     * Adds the prototypes of a compact timeline and, once, the channels its copies share
+     */
+    private void add(KeyframeStore store, boolean sprites) {
+        instanceBytes += KEYFRAME_STORE + align(ARRAY_HEADER + store.getPrototypeCount() * REFERENCE)
+                + (long) store.getPrototypeCount() * (sprites ? SPRITE : PART);
+
+        if (channelSet.add(store.getSharedChannels()))
+            sharedBytes += 6 * (CHANNEL + ARRAY_HEADER) + store.getChannelBytes() + ARRAY_HEADER + store.getIndexBytes();
+    }
+
+    private void addCurve(Curve curve) {
+        if (!curveSet.add(curve))
+            return;
+
+        curves++;
+        sharedBytes += CURVE;
+        if (curve.getType() == CurveType.BEZIER)
+            sharedBytes += BEZIER_EVALUATOR;
+        else if (curve.getType() != CurveType.LINEAR && curve.getType() != CurveType.INSTANT)
+            sharedBytes += POLYNOMIAL_EVALUATOR;
+    }
+
+    public void clear() {
+        curveSet.clear();
+        channelSet.clear();
+        sharedSet.clear();
+        sharedBytes = 0;
+        instanceBytes = 0;
+        entities = 0;
+        animations = 0;
+        timelines = 0;
+        timelineKeys = 0;
+        mainlineKeys = 0;
+        objectRefs = 0;
+        curves = 0;
+        parts = 0;
+    }
+
+    /**
+     * @return estimated bytes of the data shared by copies of the measured entities, each curve counted once
+     */
+    public long getSharedBytes() {
+        return sharedBytes;
+    }
+
+    /**
+     * @return estimated bytes of the data each copy of the measured entities owns
+     */
+    public long getInstanceBytes() {
+        return instanceBytes;
+    }
+
+    public long getTotalBytes() {
+        return sharedBytes + instanceBytes;
+    }
+
+    public int getEntityCount() {
+        return entities;
+    }
+
+    public int getAnimationCount() {
+        return animations;
+    }
+
+    public int getTimelineCount() {
+        return timelines;
+    }
+
+    public int getTimelineKeyCount() {
+        return timelineKeys;
+    }
+
+    public int getMainlineKeyCount() {
+        return mainlineKeys;
+    }
+
+    public int getObjectRefCount() {
+        return objectRefs;
+    }
+
+    /**
+     * @return amount of distinct curves
+     */
+    public int getCurveCount() {
+        return curves;
+    }
+
+    /**
+     * @return amount of tweened parts of the animations, one per timeline
+     */
+    public int getPartCount() {
+        return parts;
+    }
+
+    /**
+     * Estimated size of an object with the given fields, aligned on 8 bytes
+     */
+    private static int size(int references, int primitiveBytes) {
+        return align(HEADER + references * REFERENCE + primitiveBytes);
+    }
+
+    /**
+     * Estimated size of a gdx {@link Array} and its backing array
+     */
+    private static long array(Array<?> array) {
+        Object[] items = array.items;
+        return size(1, 5) + align(ARRAY_HEADER + items.length * REFERENCE);
+    }
+
+    private static int align(int bytes) {
+        return bytes + 7 & ~7;
+    }
+
+    @Override
+    public String toString() {
+        return "MemoryFootprint{" +
+                "sharedBytes=" + sharedBytes +
+                ", instanceBytes=" + instanceBytes +
+                ", entities=" + entities +
+                ", animations=" + animations +
+                ", timelines=" + timelines +
+                ", timelineKeys=" + timelineKeys +
+                ", mainlineKeys=" + mainlineKeys +
+                ", objectRefs=" + objectRefs +
+                ", curves=" + curves +
+                ", parts=" + parts +
+                '}';
+    }
+}
@@ -0,0 +1,77 @@
+package me.winter.gdx.animation;
+
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Null;
+import com.badlogic.gdx.utils.ObjectIntMap;
+
+import java.util.function.Function;
+
+/**
+ * Hash index from names to indices in an array of named objects. Replaces linear scans comparing names: the index is
+ * built on first use and rebuilt when the array changes size, when {@link #reindex()} is called or when a lookup lands
+ * on an object of another name, as after objects are replaced with {@link Array#set(int, Object)}. Misses cost a single
+ * hash lookup, so an object put in place of another without changing the size of the array is only found after {@link
+ * #reindex()}.
+ * <p>
+ * Like a scan, the first object of a name is found when names are duplicated, unless an object placed before the
+ * indexed one takes its name while the array keeps its size. Call {@link #reindex()} after such changes.
+ *
+ * @param <T> type of the named objects
+ */
+public class NameIndex<T> {
+    private final Array<T> items;
+    private final Function<T, String> naming;
+
+    private final ObjectIntMap<String> indices = new ObjectIntMap<>();
+    private int indexedSize = -1;
+
+    /**
+     * @param items  array of named objects to index, can be modified afterwards
+     * @param naming function returning the name of an object
+     */
+    public NameIndex(Array<T> items, Function<T, String> naming) {
+        this.items = items;
+        this.naming = naming;
+    }
+
+    /**
+     * @param name name of the object, can be null
+     * @return index of the first object with the given name, -1 if none or if the name is null
+     */
+    @SuppressWarnings("NewApi")
+    public int indexOf(@Null String name) {
+        if (name == null)
+            return -1;
+
+        if (indexedSize != items.size)
+            rebuild();
+
+        int index = indices.get(name, -1);
+        if (index == -1 || name.equals(naming.apply(items.get(index))))
+            return index;
+
+        //the indexed object was replaced
+        rebuild();
+        return indices.get(name, -1);
+    }
+
+    /**
+     * Forces the index to be rebuilt on next lookup, to be called after objects are put in place of others
+     */
+    public void reindex() {
+        indexedSize = -1;
+    }
+
+    @SuppressWarnings("NewApi")
+    private void rebuild() {
+        indices.clear();
+
+        for (int i = 0; i < items.size; i++) {
+            String name = naming.apply(items.get(i));
+            if (name != null && !indices.containsKey(name))
+                indices.put(name, i);
+        }
+
+        indexedSize = items.size;
+    }
+}
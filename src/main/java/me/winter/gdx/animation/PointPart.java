@@ -0,0 +1,44 @@
+package me.winter.gdx.animation;
+
+import com.badlogic.gdx.math.Vector2;
+
+/**
+ * Represents an action point in a Spriter SCML file, like the tip of a weapon or where a projectile spawns. A point is
+ * tweened like a bone, once tweened by an {@link Animation} its position and angle are in world coordinates.
+ */
+public class PointPart extends AnimatedPart {
+    private boolean visible = true;
+
+    public PointPart() {
+        this(new Vector2(0, 0), new Vector2(1f, 1f), 0f);
+    }
+
+    public PointPart(PointPart other) {
+        super(other);
+    }
+
+    public PointPart(Vector2 position, Vector2 scale, float angle) {
+        super(position, scale, angle);
+    }
+
+    /**
+     * @return true if the point is in the current key of its animation
+     */
+    public boolean isVisible() {
+        return visible;
+    }
+
+    public void setVisible(boolean visible) {
+        this.visible = visible;
+    }
+
+    @Override
+    public String toString() {
+        return "PointPart{" +
+                "visible=" + visible +
+                ", position=" + position +
+                ", scale=" + scale +
+                ", angle=" + angle +
+                '}';
+    }
+}
@@ -0,0 +1,102 @@
+package me.winter.gdx.animation;
+
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Null;
+
+/**
+ * Pose of an animation at a given time, written by {@link Animation#sample(float, Pose)}. A pose owns its parts and its
+ * root, so that animations can be sampled from many threads at once, each thread with its own pose.
+ * <p>
+ * Parts are indexed by timeline id like {@link Animation#getParts()} and are in world space, relative to the root of
+ * the pose. A part is only meaningful if its timeline is in the mainline key at the sampled time.
+ */
+public class Pose {
+    private final Array<AnimatedPart> parts;
+    private final boolean[] present;
+    private final AnimatedPart root = new AnimatedPart();
+    private int mainlineKey = -1;
+
+    /**
+     * Creates a pose for the given animation, which can then be sampled in it
+     *
+     * @param animation animation to create the pose for
+     */
+    public Pose(Animation animation) {
+        Array<AnimatedPart> source = animation.getParts();
+
+        parts = new Array<>(source.size);
+        for (int i = 0; i < source.size; i++)
+            parts.add(source.get(i) != null ? source.get(i).clone() : null);
+
+        present = new boolean[source.size];
+    }
+
+    /**
+     * Hides every part before sampling a new mainline key
+     */
+    void clear(int mainlineKey) {
+        for (int i = 0; i < present.length; i++)
+            present[i] = false;
+
+        this.mainlineKey = mainlineKey;
+    }
+
+    void setPresent(int timeline) {
+        present[timeline] = true;
+    }
+
+    /**
+     * @param timeline id of the timeline
+     * @return true if the timeline is in the mainline key at the sampled time
+     */
+    public boolean isPresent(int timeline) {
+        return present[timeline];
+    }
+
+    /**
+     * @param timeline id of the timeline
+     * @return part of the timeline, null if the timeline has no keys
+     */
+    @Null
+    public AnimatedPart getPart(int timeline) {
+        return parts.get(timeline);
+    }
+
+    /**
+     * @return parts of this pose, indexed by timeline id. Must not be modified.
+     */
+    public Array<AnimatedPart> getParts() {
+        return parts;
+    }
+
+    /**
+     * @return amount of parts of this pose, the amount of timelines of its animation
+     */
+    public int size() {
+        return parts.size;
+    }
+
+    /**
+     * Root the parts are sampled relative to, the identity by default. Can be set before sampling to place the pose.
+     *
+     * @return root of this pose
+     */
+    public AnimatedPart getRoot() {
+        return root;
+    }
+
+    /**
+     * @return index of the sampled mainline key, -1 if never sampled
+     */
+    public int getMainlineKey() {
+        return mainlineKey;
+    }
+
+    @Override
+    public String toString() {
+        return "Pose{" +
+                "parts=" + parts.size +
+                ", mainlineKey=" + mainlineKey +
+                '}';
+    }
+}
@@ -0,0 +1,211 @@
+package me.winter.gdx.animation;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.utils.ObjectIntMap;
+
+import me.winter.gdx.animation.drawable.SpriteVertexBuffer;
+import me.winter.gdx.animation.drawable.VertexSpriteDrawable;
+
+/**
+ * Buffer of draw commands shared by many animations. Animations write the vertices of their sprites along with a sort
+ * key made of a layer, a depth, the z-index of the sprite and its texture. {@link #render(Batch)} then sorts all
+ * commands at once so that sprites of overlapping animations are correctly layered and sprites sharing a texture are
+ * submitted together.
+ * <p>
+ * Commands are ordered by layer, then depth, then z-index, then texture. Commands with equal keys keep the order they
+ * were added in. Textures are numbered in the order they are first added since the queue was last cleared. Past 4096
+ * textures in a single render, the remaining ones share the last number and are only grouped by the order they were
+ * added in.
+ */
+public class RenderQueue {
+    private static final int LAYER_BITS = 16, DEPTH_BITS = 24, Z_INDEX_BITS = 12, TEXTURE_BITS = 12;
+    private static final int MAX_TEXTURE_ID = (1 << TEXTURE_BITS) - 1;
+
+    private float[] vertices;
+    private Texture[] textures;
+    private long[] keys;
+    private int[] order, sorted;
+    private final int[] counts = new int[256];
+    private int size = 0;
+
+    private final ObjectIntMap<Texture> textureIds = new ObjectIntMap<>();
+    private final SpriteVertexBuffer buffer;
+    private final Color color = new Color(Color.WHITE);
+
+    public RenderQueue() {
+        this(256);
+    }
+
+    /**
+     * @param capacity initial amount of commands, grows as needed
+     */
+    public RenderQueue(int capacity) {
+        capacity = Math.max(capacity, 1);
+        vertices = new float[capacity * VertexSpriteDrawable.SPRITE_SIZE];
+        textures = new Texture[capacity];
+        keys = new long[capacity];
+        order = new int[capacity];
+        sorted = new int[capacity];
+        buffer = new SpriteVertexBuffer();
+    }
+
+    /**
+     * Adds a command, the caller then writes the vertices of the sprite in {@link #getVertices()} at the returned
+     * index.
+     *
+     * @param layer   layer of the command, the most significant part of its key
+     * @param depth   depth of the command in its layer, usually one per animation
+     * @param zIndex  z-index of the sprite in its animation
+     * @param texture texture of the sprite
+     * @return index in {@link #getVertices()} the sprite has to be written to
+     */
+    public int add(int layer, int depth, int zIndex, Texture texture) {
+        int textureId = textureIds.get(texture, -1);
+        if (textureId == -1) {
+            textureId = Math.min(textureIds.size, MAX_TEXTURE_ID);
+            textureIds.put(texture, textureId);
+        }
+
+        return add(layer, depth, zIndex, textureId, texture);
+    }
+
+    /**
+     * Adds a command like {@link #add(int, int, int, Texture)}, except it isn't grouped by texture with commands of
+     * the same layer, depth and z-index: it keeps the order it was added in. Used for the sprites of nested
+     * animations, which all take the z-index of the sprite they are attached to.
+     *
+     * @param layer   layer of the command
+     * @param depth   depth of the command in its layer
+     * @param zIndex  z-index of the sprite in its animation
+     * @param texture texture of the sprite
+     * @return index in {@link #getVertices()} the sprite has to be written to
+     */
+    public int addOrdered(int layer, int depth, int zIndex, Texture texture) {
+        return add(layer, depth, zIndex, 0, texture);
+    }
+
+    private int add(int layer, int depth, int zIndex, int textureId, Texture texture) {
+        if (size == textures.length)
+            grow();
+
+        long key = field(layer, LAYER_BITS);
+        key = key << DEPTH_BITS | field(depth, DEPTH_BITS);
+        key = key << Z_INDEX_BITS | field(zIndex, Z_INDEX_BITS);
+        key = key << TEXTURE_BITS | textureId;
+
+        textures[size] = texture;
+        keys[size] = key;
+        return size++ * VertexSpriteDrawable.SPRITE_SIZE;
+    }
+
+    /**
+     * Sorts all the commands and submits them to the given batch, then clears this queue
+     *
+     * @param batch batch to draw to
+     */
+    public void render(Batch batch) {
+        sort();
+
+        for (int i = 0; i < size; i++) {
+            int command = order[i];
+            int offset = buffer.add(batch, textures[command]);
+            System.arraycopy(vertices, command * VertexSpriteDrawable.SPRITE_SIZE, buffer.getVertices(), offset, VertexSpriteDrawable.SPRITE_SIZE);
+        }
+        buffer.flush(batch);
+
+        clear();
+    }
+
+    /**
+     * Stable LSD radix sort of the command indices by key, one byte at a time. Bytes that are the same for every
+     * command are skipped.
+     */
+    private void sort() {
+        for (int i = 0; i < size; i++)
+            order[i] = i;
+
+        for (int shift = 0; shift < 64; shift += 8) {
+            for (int i = 0; i < 256; i++)
+                counts[i] = 0;
+
+            for (int i = 0; i < size; i++)
+                counts[(int) (keys[i] >>> shift) & 0xFF]++;
+
+            if (counts[(int) (keys[0] >>> shift) & 0xFF] == size)
+                continue;
+
+            for (int i = 0, total = 0; i < 256; i++) {
+                int count = counts[i];
+                counts[i] = total;
+                total += count;
+            }
+
+            for (int i = 0; i < size; i++) {
+                int command = order[i];
+                sorted[counts[(int) (keys[command] >>> shift) & 0xFF]++] = command;
+            }
+
+            int[] tmp = order;
+            order = sorted;
+            sorted = tmp;
+        }
+    }
+
+    public void clear() {
+        for (int i = 0; i < size; i++)
+            textures[i] = null;
+        size = 0;
+        textureIds.clear();
+    }
+
+    /**
+     * @return amount of commands in this queue
+     */
+    public int size() {
+        return size;
+    }
+
+    public float[] getVertices() {
+        return vertices;
+    }
+
+    /**
+     * Color animations are multiplied with when writing their commands, white by default. Plays the role of the batch
+     * color since commands are written before rendering.
+     *
+     * @return color of the commands
+     */
+    public Color getColor() {
+        return color;
+    }
+
+    private void grow() {
+        int capacity = textures.length * 2;
+
+        float[] vertices = new float[capacity * VertexSpriteDrawable.SPRITE_SIZE];
+        System.arraycopy(this.vertices, 0, vertices, 0, this.vertices.length);
+        this.vertices = vertices;
+
+        Texture[] textures = new Texture[capacity];
+        System.arraycopy(this.textures, 0, textures, 0, size);
+        this.textures = textures;
+
+        long[] keys = new long[capacity];
+        System.arraycopy(this.keys, 0, keys, 0, size);
+        this.keys = keys;
+
+        order = new int[capacity];
+        sorted = new int[capacity];
+    }
+
+    /**
+     * Maps a signed value on an unsigned field of the given amount of bits, preserving order and clamping values out
+     * of range
+     */
+    private static long field(int value, int bits) {
+        long half = 1L << bits - 1;
+        return Math.max(0L, Math.min((1L << bits) - 1L, value + half));
+    }
+}
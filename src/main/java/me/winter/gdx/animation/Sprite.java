@@ -20,6 +20,11 @@ public class Sprite extends AnimatedPart {
     private int zIndex;
     private boolean visible = true;
 
+    /**
+     * Id of the timeline this sprite is tweened for by an {@link Animation}, -1 for the sprites of keys
+     */
+    private int timeline = -1;
+
     public Sprite() {
         this(null, -1, "", -1, new Vector2(0, 0), new Vector2(1f, 1f), 0f, 1f, 0);
     }
@@ -27,6 +32,9 @@ public class Sprite extends AnimatedPart {
     public Sprite(Sprite other) {
         super(other);
 
+        this.folder = other.folder;
+        this.folderName = other.folderName;
+        this.file = other.file;
         this.drawable = other.drawable;
         this.alpha = other.alpha;
         this.zIndex = other.zIndex;
@@ -58,12 +66,24 @@ public class Sprite extends AnimatedPart {
         super.set(object);
 
         if (object instanceof Sprite) {
+            setImage((Sprite) object);
             this.alpha = ((Sprite) object).alpha;
-            this.drawable = ((Sprite) object).drawable;
             this.zIndex = ((Sprite) object).zIndex;
         }
     }
 
+    /**
+     * Sets the image of this sprite, its folder, file and drawable, to the one of the given sprite
+     *
+     * @param other sprite to copy the image of
+     */
+    public void setImage(Sprite other) {
+        this.folder = other.folder;
+        this.folderName = other.folderName;
+        this.file = other.file;
+        this.drawable = other.drawable;
+    }
+
     public int getFolder() {
         return folder;
     }
@@ -100,6 +120,14 @@ public class Sprite extends AnimatedPart {
         this.zIndex = zIndex;
     }
 
+    public int getTimeline() {
+        return timeline;
+    }
+
+    void setTimeline(int timeline) {
+        this.timeline = timeline;
+    }
+
     public boolean isVisible() {
         return visible;
     }
@@ -0,0 +1,227 @@
+package me.winter.gdx.animation;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.IntMap;
+import com.badlogic.gdx.utils.Null;
+import com.badlogic.gdx.utils.ObjectIntMap;
+import com.badlogic.gdx.utils.ObjectMap;
+
+import me.winter.gdx.animation.drawable.SpriteDrawable;
+
+/**
+ * Drawables and tints replacing the ones of the sprites of an animation when drawing, without modifying its keys.
+ * Overrides are per instance: an {@link Entity} shares one with all its animations, so swapping a drawable or
+ * recoloring an entity is a single map write instead of a walk through every key of every animation.
+ * <p>
+ * Drawables are overridden by timeline name first, then by folder and file, then by the stacked {@link CharacterMap}s,
+ * the last added map having precedence. Tints are stored as packed RGBA8888 colors and applied in the vertex color
+ * when drawing. The tint of a timeline is multiplied by the tint of the whole animation.
+ */
+public class SpriteOverrides {
+    /**
+     * Packed RGBA8888 white, the tint of a sprite without override
+     */
+    public static final int NO_TINT = 0xFFFFFFFF;
+
+    private final ObjectMap<String, SpriteDrawable> drawables = new ObjectMap<>();
+    private final ObjectIntMap<String> tints = new ObjectIntMap<>();
+    private final IntMap<SpriteDrawable> fileDrawables = new IntMap<>();
+    private int tint = NO_TINT;
+    private final Array<CharacterMap> characterMaps = new Array<>(4);
+
+    private int version = 0;
+
+    public SpriteOverrides() {
+    }
+
+    public SpriteOverrides(SpriteOverrides other) {
+        drawables.putAll(other.drawables);
+        tints.putAll(other.tints);
+        fileDrawables.putAll(other.fileDrawables);
+        tint = other.tint;
+        characterMaps.addAll(other.characterMaps);
+    }
+
+    /**
+     * Sets the drawable of the sprites of a timeline
+     *
+     * @param timelineName name of the timeline
+     * @param drawable     drawable to draw the sprites of the timeline with, null to remove the override
+     */
+    public void setDrawable(String timelineName, @Null SpriteDrawable drawable) {
+        if (drawable == null)
+            drawables.remove(timelineName);
+        else
+            drawables.put(timelineName, drawable);
+        version++;
+    }
+
+    @Null
+    public SpriteDrawable getDrawable(String timelineName) {
+        return drawables.get(timelineName);
+    }
+
+    /**
+     * Sets the drawable of the sprites using an image, whatever their timeline
+     *
+     * @param folder   folder id of the image
+     * @param file     file id of the image
+     * @param drawable drawable to draw the image with, null to remove the override
+     */
+    public void setFileDrawable(int folder, int file, @Null SpriteDrawable drawable) {
+        if (drawable == null)
+            fileDrawables.remove(getFileKey(folder, file));
+        else
+            fileDrawables.put(getFileKey(folder, file), drawable);
+        version++;
+    }
+
+    @Null
+    public SpriteDrawable getFileDrawable(int folder, int file) {
+        return fileDrawables.size == 0 ? null : fileDrawables.get(getFileKey(folder, file));
+    }
+
+    /**
+     * Returns the drawable an image is drawn with, from the file overrides and the character maps
+     *
+     * @param folder   folder id of the image
+     * @param file     file id of the image
+     * @param drawable drawable of the image without overrides
+     * @return drawable of the image, null if a character map hides it
+     */
+    @Null
+    public SpriteDrawable getImageDrawable(int folder, int file, @Null SpriteDrawable drawable) {
+        SpriteDrawable override = getFileDrawable(folder, file);
+        if (override != null)
+            return override;
+
+        for (int i = characterMaps.size - 1; i >= 0; i--) {
+            CharacterMap map = characterMaps.get(i);
+            int index = map.indexOf(folder, file);
+            if (index >= 0)
+                return map.getDrawable(index);
+        }
+        return drawable;
+    }
+
+    /**
+     * Applies a character map on top of the ones already applied. Maps are only referenced, adding or removing one is
+     * cheap enough to change equipment every frame.
+     *
+     * @param map character map to apply
+     */
+    public void addCharacterMap(CharacterMap map) {
+        characterMaps.add(map);
+        version++;
+    }
+
+    public boolean removeCharacterMap(CharacterMap map) {
+        if (!characterMaps.removeValue(map, true))
+            return false;
+
+        version++;
+        return true;
+    }
+
+    public void clearCharacterMaps() {
+        characterMaps.clear();
+        version++;
+    }
+
+    /**
+     * @return applied character maps, from bottom to top. Must not be modified.
+     */
+    public Array<CharacterMap> getCharacterMaps() {
+        return characterMaps;
+    }
+
+    /**
+     * Sets the tint of the sprites of a timeline
+     *
+     * @param timelineName name of the timeline
+     * @param color        tint of the sprites, null to remove the override
+     */
+    public void setTint(String timelineName, @Null Color color) {
+        if (color == null)
+            tints.remove(timelineName, NO_TINT);
+        else
+            tints.put(timelineName, Color.rgba8888(color));
+        version++;
+    }
+
+    /**
+     * @param timelineName name of the timeline
+     * @return packed RGBA8888 tint of the timeline, {@link #NO_TINT} if not overridden
+     */
+    public int getTint(String timelineName) {
+        return tints.get(timelineName, NO_TINT);
+    }
+
+    /**
+     * Sets the tint of all the sprites
+     *
+     * @param color tint of the sprites, null to remove it
+     */
+    public void setTint(@Null Color color) {
+        tint = color == null ? NO_TINT : Color.rgba8888(color);
+        version++;
+    }
+
+    /**
+     * Sets the tint of all the sprites
+     *
+     * @param rgba8888 packed tint of the sprites, {@link #NO_TINT} to remove it
+     */
+    public void setTint(int rgba8888) {
+        tint = rgba8888;
+        version++;
+    }
+
+    /**
+     * @return packed RGBA8888 tint of all the sprites, {@link #NO_TINT} if not set
+     */
+    public int getTint() {
+        return tint;
+    }
+
+    public void clear() {
+        drawables.clear();
+        tints.clear();
+        fileDrawables.clear();
+        tint = NO_TINT;
+        characterMaps.clear();
+        version++;
+    }
+
+    /**
+     * Incremented on every change, lets animations know when to resolve again the overrides of their timelines
+     *
+     * @return version of these overrides
+     */
+    public int getVersion() {
+        return version;
+    }
+
+    /**
+     * Same key as {@link me.winter.gdx.animation.scml.SCMLProject#getAssetKey(int, int)}
+     */
+    public static int getFileKey(int folder, int file) {
+        return (folder << 16) + file;
+    }
+
+    /**
+     * Multiplies two packed RGBA8888 colors
+     */
+    public static int mulTint(int a, int b) {
+        if (a == NO_TINT)
+            return b;
+        if (b == NO_TINT)
+            return a;
+
+        int result = 0;
+        for (int shift = 0; shift < 32; shift += 8)
+            result |= ((a >>> shift & 0xFF) * (b >>> shift & 0xFF) + 127) / 255 << shift;
+        return result;
+    }
+}
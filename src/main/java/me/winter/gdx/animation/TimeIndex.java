@@ -0,0 +1,139 @@
+package me.winter.gdx.animation;
+
+import com.badlogic.gdx.utils.Array;
+
+/**
+ * Table of the keys of an animation at regular times, to find the key at any time without scanning the keys. The
+ * length of the animation is split in buckets of a fixed step, each holding the index of the last mainline key and of
+ * the last key of every timeline at the start of the bucket. A lookup reads its bucket and only steps over the keys
+ * inside the bucket, none when the step is smaller than the gaps between keys.
+ * <p>
+ * The step is the smallest gap between mainline keys, widened if needed to keep the table under a maximum amount of
+ * entries. An index is immutable and only depends on the times of the keys: copies of an animation share it, and it
+ * must be rebuilt if keys are added or removed.
+ */
+public class TimeIndex {
+    /**
+     * Default maximum amount of entries of an index, 32KB
+     */
+    public static final int DEFAULT_MAX_ENTRIES = 8192;
+
+    private final Array<MainlineKey> mainlineKeys;
+    private final Array<Timeline> timelines;
+
+    private final int step, buckets;
+    private final int[] mainlineIndices, timelineIndices;
+
+    /**
+     * Builds the index of an animation
+     *
+     * @param animation  animation to index
+     * @param maxEntries maximum amount of entries of the table, the table holding one entry for the mainline and one
+     *                   per timeline in each bucket
+     */
+    public TimeIndex(Animation animation, int maxEntries) {
+        mainlineKeys = animation.getMainline().getKeys();
+        timelines = animation.getTimelines();
+
+        int length = Math.max(animation.getLength(), 1);
+        int width = timelines.size + 1;
+
+        int minGap = length;
+        for (int i = 1; i < mainlineKeys.size; i++)
+            minGap = Math.min(minGap, mainlineKeys.get(i).time - mainlineKeys.get(i - 1).time);
+
+        int maxBuckets = Math.max(maxEntries / width, 1);
+        int step = Math.max(minGap, 1);
+        if (length / step + 1 > maxBuckets)
+            step = (length + maxBuckets - 1) / maxBuckets + 1;
+
+        this.step = step;
+        this.buckets = length / step + 1;
+
+        mainlineIndices = new int[buckets];
+        timelineIndices = new int[buckets * timelines.size];
+
+        for (int b = 0; b < buckets; b++) {
+            int time = b * step;
+            mainlineIndices[b] = scanMainline(b > 0 ? mainlineIndices[b - 1] : -1, time);
+
+            for (int t = 0; t < timelines.size; t++) {
+                int from = b > 0 ? timelineIndices[(b - 1) * timelines.size + t] : -1;
+                timelineIndices[b * timelines.size + t] = scanTimeline(timelines.get(t).getKeys(), from, time);
+            }
+        }
+    }
+
+    /**
+     * Returns the index of the last mainline key before the given time, like {@link Mainline#getKeyIndexBeforeTime(int,
+     * boolean)}
+     *
+     * @param time       the time a key has to be before
+     * @param wrapAround true if should wrap around the timeline, otherwise false
+     * @return index of the last previous key before specified time, when not found index of the first one
+     */
+    public int getMainlineKey(int time, boolean wrapAround) {
+        int index = scanMainline(time < 0 ? -1 : mainlineIndices[getBucket(time)], time);
+
+        if (index == -1)
+            return wrapAround ? mainlineKeys.size - 1 : 0;
+        return index;
+    }
+
+    /**
+     * Returns the index of the last key of a timeline before the given time. Playback tweens the keys referenced by the
+     * mainline, this finds the keys of a timeline on its own, like for scrubbing.
+     *
+     * @param timeline id of the timeline
+     * @param time     the time a key has to be before
+     * @return index of the last key of the timeline before the given time, -1 if none
+     */
+    public int getTimelineKey(int timeline, int time) {
+        int from = time < 0 ? -1 : timelineIndices[getBucket(time) * timelines.size + timeline];
+        return scanTimeline(timelines.get(timeline).getKeys(), from, time);
+    }
+
+    private int getBucket(int time) {
+        return Math.min(time / step, buckets - 1);
+    }
+
+    private int scanMainline(int from, int time) {
+        int index = from;
+        while (index + 1 < mainlineKeys.size && mainlineKeys.get(index + 1).time <= time)
+            index++;
+        return index;
+    }
+
+    private static int scanTimeline(Array<TimelineKey> keys, int from, int time) {
+        int index = from;
+        while (index + 1 < keys.size && keys.get(index + 1).getTime() <= time)
+            index++;
+        return index;
+    }
+
+    /**
+     * @return duration of a bucket in milliseconds
+     */
+    public int getStep() {
+        return step;
+    }
+
+    public int getBucketCount() {
+        return buckets;
+    }
+
+    /**
+     * @return bytes of the table
+     */
+    public int getByteSize() {
+        return (mainlineIndices.length + timelineIndices.length) * 4;
+    }
+
+    @Override
+    public String toString() {
+        return "TimeIndex{" +
+                "step=" + step +
+                ", buckets=" + buckets +
+                '}';
+    }
+}
@@ -1,6 +1,7 @@
 package me.winter.gdx.animation;
 
 import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Null;
 
 /**
  * Represents a time line in a Spriter SCML file. A time line holds an {@link #id}, a {@link #name} and at least one
@@ -16,6 +17,8 @@ public class Timeline {
 
     private boolean isVisible = true;
 
+    private KeyframeStore store;
+
     public Timeline(int id, String name, Array<TimelineKey> timelineKeys) {
         this.id = id;
         this.name = name;
@@ -27,10 +30,75 @@ public class Timeline {
         this.name = timeline.name;
         this.keys = new Array<>(timeline.getKeys().size);
 
+        if (timeline.store != null) {
+            store = new KeyframeStore(timeline.store);
+
+            for (int i = 0; i < timeline.keys.size; i++) {
+                TimelineKey other = timeline.keys.get(i);
+                TimelineKey key = new TimelineKey(other.getTime(), other.getSpin(), other.getCurve());
+                key.setObject(store.getPrototype(i));
+                keys.add(key);
+            }
+            return;
+        }
+
         for (TimelineKey key : timeline.getKeys())
             keys.add(new TimelineKey(key));
     }
 
+    /**
+     * Packs the transforms of the keys of this timeline in a {@link KeyframeStore}, dropping their parts. Meant for
+     * large projects, once the keys won't be modified anymore: the objects of the keys then only hold their image,
+     * {@link #decode(int, AnimatedPart)} reads the whole key. Copies of a compact timeline share its channels.
+     *
+     * @param quantization precision of the packed channels
+     */
+    public void compact(KeyframeStore.Quantization quantization) {
+        if (keys.size == 0)
+            return;
+
+        if (store != null) {
+            //decode the current store to pack it again with the new precision
+            for (int i = 0; i < keys.size; i++)
+                keys.get(i).setObject(store.decode(i, store.getPrototype(i).clone()));
+        }
+
+        store = new KeyframeStore(keys, quantization);
+
+        for (int i = 0; i < keys.size; i++)
+            keys.get(i).setObject(store.getPrototype(i));
+    }
+
+    /**
+     * Writes a key of this timeline to the given part, whether this timeline is compact or not
+     *
+     * @param key index of the key
+     * @param out part to write to
+     * @return the given part
+     */
+    public AnimatedPart decode(int key, AnimatedPart out) {
+        if (store != null)
+            return store.decode(key, out);
+
+        out.set(keys.get(key).getObject());
+        return out;
+    }
+
+    /**
+     * @return true if the keys of this timeline are packed, see {@link #compact(KeyframeStore.Quantization)}
+     */
+    public boolean isCompact() {
+        return store != null;
+    }
+
+    /**
+     * @return packed keys of this timeline, null if not compact
+     */
+    @Null
+    public KeyframeStore getStore() {
+        return store;
+    }
+
     @Override
     public Timeline clone() {
         return new Timeline(this);
@@ -39,6 +39,10 @@ public class TimelineKey {
         return curve;
     }
 
+    /**
+     * @return part of this key. In a compact timeline, a part shared by the keys with the same image, see {@link
+     * KeyframeStore}.
+     */
     public AnimatedPart getObject() {
         return this.object;
     }
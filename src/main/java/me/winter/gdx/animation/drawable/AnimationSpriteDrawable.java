@@ -7,7 +7,9 @@ import me.winter.gdx.animation.Animation;
 import me.winter.gdx.animation.Sprite;
 
 /**
- * Draws an animation into a Sprite
+ * Draws an animation into a Sprite. The animation given to the drawable is a template: each animation drawing the
+ * sprite, like each copy of an entity, owns a copy of it, updated by it with its root following the sprite and drawn
+ * or submitted in place of the sprite. A drawable is meant to be used by a single sprite of an animation.
  * <p>
  * Created on 2018-05-24.
  *
@@ -22,16 +24,43 @@ public class AnimationSpriteDrawable implements SpriteDrawable {
         this.scale = scale;
     }
 
-    @Override
-    public void draw(Sprite sprite, Batch batch) {
-        AnimatedPart obj = animation.getRoot();
+    /**
+     * Composes the root of the given copy of the nested animation from the given sprite and updates it. Called by the
+     * animation of the sprite once its pose is computed.
+     *
+     * @param instance copy of the nested animation owned by the animation of the sprite
+     * @param sprite   sprite the nested animation is attached to, in world coordinates
+     * @param delta    time in milliseconds to update the nested animation by
+     */
+    public void update(Animation instance, Sprite sprite, float delta) {
+        AnimatedPart obj = instance.getRoot();
 
         obj.getPosition().set(sprite.getPosition());
         obj.getScale().set(sprite.getScale().x * scale, sprite.getScale().y * scale);
         obj.setAngle(sprite.getAngle());
 
-        animation.setAlpha(sprite.getAlpha());
-        animation.update(0f);
+        instance.setAlpha(sprite.getAlpha());
+        instance.update(delta);
+    }
+
+    /**
+     * Draws the template animation at the given sprite. Animations draw their own copy instead, this is only used
+     * when drawing the sprite directly.
+     */
+    @Override
+    public void draw(Sprite sprite, Batch batch) {
+        update(animation, sprite, 0f);
         animation.draw(batch);
     }
+
+    /**
+     * @return template of the nested animation, copied by each animation drawing this drawable
+     */
+    public Animation getAnimation() {
+        return animation;
+    }
+
+    public float getScale() {
+        return scale;
+    }
 }
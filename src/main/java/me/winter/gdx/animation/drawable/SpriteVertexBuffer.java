@@ -0,0 +1,71 @@
+package me.winter.gdx.animation.drawable;
+
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.Batch;
+
+/**
+ * Reusable buffer of sprite vertices sharing the same texture. Sprites are accumulated until the texture changes or
+ * the buffer is full, then submitted as a single run with {@link Batch#draw(Texture, float[], int, int)}.
+ */
+public class SpriteVertexBuffer {
+    private final float[] vertices;
+    private Texture texture;
+    private int size = 0;
+
+    public SpriteVertexBuffer() {
+        this(64);
+    }
+
+    /**
+     * @param sprites maximum amount of sprites in a single run
+     */
+    public SpriteVertexBuffer(int sprites) {
+        if (sprites <= 0)
+            throw new IllegalArgumentException("Buffer must hold at least one sprite: " + sprites);
+
+        this.vertices = new float[sprites * VertexSpriteDrawable.SPRITE_SIZE];
+    }
+
+    /**
+     * Reserves room for a sprite of the given texture, submitting the current run first if it uses another texture
+     * or is full
+     *
+     * @param batch   batch to submit to
+     * @param texture texture of the sprite
+     * @return index in {@link #getVertices()} the sprite has to be written to
+     */
+    public int add(Batch batch, Texture texture) {
+        if (texture != this.texture || size == vertices.length) {
+            flush(batch);
+            this.texture = texture;
+        }
+
+        int offset = size;
+        size += VertexSpriteDrawable.SPRITE_SIZE;
+        return offset;
+    }
+
+    /**
+     * Submits the current run to the given batch
+     *
+     * @param batch batch to submit to
+     */
+    public void flush(Batch batch) {
+        if (size > 0)
+            batch.draw(texture, vertices, 0, size);
+
+        size = 0;
+        texture = null;
+    }
+
+    public float[] getVertices() {
+        return vertices;
+    }
+
+    /**
+     * @return amount of sprites in the current run
+     */
+    public int getSpriteCount() {
+        return size / VertexSpriteDrawable.SPRITE_SIZE;
+    }
+}
@@ -1,8 +1,10 @@
 package me.winter.gdx.animation.drawable;
 
 import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.Batch;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.math.MathUtils;
 import com.badlogic.gdx.math.Rectangle;
 import com.badlogic.gdx.math.Vector2;
 
@@ -13,7 +15,7 @@ import me.winter.gdx.animation.Sprite;
  *
  * @author Alexander Winter
  */
-public class TextureSpriteDrawable implements SpriteDrawable {
+public class TextureSpriteDrawable implements VertexSpriteDrawable {
     protected final TextureRegion region;
     protected final float pivotX, pivotY;
     protected final float width, height;
@@ -67,6 +69,99 @@ public class TextureSpriteDrawable implements SpriteDrawable {
         batch.setPackedColor(prevColor);
     }
 
+    @Override
+    public Texture getTexture(Sprite sprite) {
+        return region != null ? region.getTexture() : null;
+    }
+
+    /**
+     * Writes the same vertices as {@link Batch#draw(TextureRegion, float, float, float, float, float, float, float,
+     * float, float)} called by {@link #draw(Sprite, Batch)}.
+     */
+    @Override
+    public void writeVertices(Sprite sprite, Color color, float[] vertices, int offset) {
+        float originX = width * getPivotX();
+        float originY = height * getPivotY();
+
+        color.a *= sprite.getAlpha();
+        float packedColor = color.toFloatBits();
+
+        float scaleX = sprite.getScale().x;
+        float scaleY = sprite.getScale().y;
+        float rotation = sprite.getAngle();
+
+        float worldOriginX = sprite.getPosition().x - originX + originX;
+        float worldOriginY = sprite.getPosition().y - originY + originY;
+        float fx = -originX;
+        float fy = -originY;
+        float fx2 = width - originX;
+        float fy2 = height - originY;
+
+        if (scaleX != 1 || scaleY != 1) {
+            fx *= scaleX;
+            fy *= scaleY;
+            fx2 *= scaleX;
+            fy2 *= scaleY;
+        }
+
+        float x1, y1, x2, y2, x3, y3, x4, y4;
+
+        if (rotation != 0) {
+            float cos = MathUtils.cosDeg(rotation);
+            float sin = MathUtils.sinDeg(rotation);
+
+            x1 = cos * fx - sin * fy;
+            y1 = sin * fx + cos * fy;
+
+            x2 = cos * fx - sin * fy2;
+            y2 = sin * fx + cos * fy2;
+
+            x3 = cos * fx2 - sin * fy2;
+            y3 = sin * fx2 + cos * fy2;
+
+            x4 = x1 + (x3 - x2);
+            y4 = y3 - (y2 - y1);
+        } else {
+            x1 = fx;
+            y1 = fy;
+            x2 = fx;
+            y2 = fy2;
+            x3 = fx2;
+            y3 = fy2;
+            x4 = fx2;
+            y4 = fy;
+        }
+
+        float u = region.getU();
+        float v = region.getV2();
+        float u2 = region.getU2();
+        float v2 = region.getV();
+
+        vertices[offset] = x1 + worldOriginX;
+        vertices[offset + 1] = y1 + worldOriginY;
+        vertices[offset + 2] = packedColor;
+        vertices[offset + 3] = u;
+        vertices[offset + 4] = v;
+
+        vertices[offset + 5] = x2 + worldOriginX;
+        vertices[offset + 6] = y2 + worldOriginY;
+        vertices[offset + 7] = packedColor;
+        vertices[offset + 8] = u;
+        vertices[offset + 9] = v2;
+
+        vertices[offset + 10] = x3 + worldOriginX;
+        vertices[offset + 11] = y3 + worldOriginY;
+        vertices[offset + 12] = packedColor;
+        vertices[offset + 13] = u2;
+        vertices[offset + 14] = v2;
+
+        vertices[offset + 15] = x4 + worldOriginX;
+        vertices[offset + 16] = y4 + worldOriginY;
+        vertices[offset + 17] = packedColor;
+        vertices[offset + 18] = u2;
+        vertices[offset + 19] = v;
+    }
+
     public TextureRegion getRegion() {
         return region;
     }
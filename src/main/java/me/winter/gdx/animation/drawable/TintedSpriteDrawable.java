@@ -1,6 +1,7 @@
 package me.winter.gdx.animation.drawable;
 
 import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.Batch;
 
 import me.winter.gdx.animation.Sprite;
@@ -12,7 +13,7 @@ import me.winter.gdx.animation.Sprite;
  *
  * @author Alexander Winter
  */
-public class TintedSpriteDrawable implements SpriteDrawable {
+public class TintedSpriteDrawable implements VertexSpriteDrawable {
     private final SpriteDrawable drawable;
     private Color color;
 
@@ -38,6 +39,16 @@ public class TintedSpriteDrawable implements SpriteDrawable {
         batch.setPackedColor(prevColor);
     }
 
+    @Override
+    public Texture getTexture(Sprite sprite) {
+        return drawable instanceof VertexSpriteDrawable ? ((VertexSpriteDrawable) drawable).getTexture(sprite) : null;
+    }
+
+    @Override
+    public void writeVertices(Sprite sprite, Color color, float[] vertices, int offset) {
+        ((VertexSpriteDrawable) drawable).writeVertices(sprite, color.mul(this.color), vertices, offset);
+    }
+
     public void setColor(Color color) {
         if (color == null)
             this.color = Color.WHITE;
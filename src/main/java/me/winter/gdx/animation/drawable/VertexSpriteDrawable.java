@@ -0,0 +1,37 @@
+package me.winter.gdx.animation.drawable;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.utils.Null;
+
+import me.winter.gdx.animation.Sprite;
+
+/**
+ * Drawable able to write a Sprite as a quad of {@link com.badlogic.gdx.graphics.g2d.SpriteBatch} vertices, so that
+ * many sprites can be submitted at once with {@link com.badlogic.gdx.graphics.g2d.Batch#draw(Texture, float[], int,
+ * int)} instead of being drawn one by one.
+ */
+public interface VertexSpriteDrawable extends SpriteDrawable {
+    /**
+     * Amount of floats written for a single sprite, 4 vertices of position, packed color and texture coordinates
+     */
+    int SPRITE_SIZE = 20;
+
+    /**
+     * @param sprite sprite to draw
+     * @return texture of the quad of the given sprite, null if this drawable can't write it as vertices
+     */
+    @Null
+    Texture getTexture(Sprite sprite);
+
+    /**
+     * Writes the {@link #SPRITE_SIZE} floats of the quad of the given sprite. Only called if {@link
+     * #getTexture(Sprite)} returned a texture.
+     *
+     * @param sprite   sprite to draw
+     * @param color    color the batch would have when drawing the sprite, can be modified
+     * @param vertices array to write to
+     * @param offset   index of the first float to write
+     */
+    void writeVertices(Sprite sprite, Color color, float[] vertices, int offset);
+}
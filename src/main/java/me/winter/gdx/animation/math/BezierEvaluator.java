@@ -0,0 +1,102 @@
+package me.winter.gdx.animation.math;
+
+import com.badlogic.gdx.math.MathUtils;
+
+import static me.winter.gdx.animation.math.Interpolator.linear;
+
+/**
+ * Evaluator of {@link Curve.CurveType#BEZIER} curves. Bezier curves are x(t), y(t) cubic polynomials going from (0, 0)
+ * to (1, 1). The table holds the parameter t for {@link Curve#BEZIER_SEGMENTS} + 1 evenly spaced x, so that easing only
+ * needs a lookup and a cubic evaluation.
+ */
+final class BezierEvaluator implements CurveEvaluator {
+    /**
+     * Amount of points per segment of the table where the error is measured, sample included
+     */
+    private static final int ERROR_SAMPLES = 8;
+
+    private final float[] table = new float[Curve.BEZIER_SEGMENTS + 1];
+    private final float x1, x2, x3, y1, y2, y3;
+    private final int refinement;
+    private final float error;
+
+    /**
+     * @param constraints constraints of the curve, c1 and c3 are x coordinates, c2 and c4 are y coordinates
+     * @param refinement  amount of Newton-Raphson iterations refining the tabled solution
+     */
+    BezierEvaluator(Curve.Constraints constraints, int refinement) {
+        this.refinement = refinement;
+
+        x1 = 3f * constraints.c1;
+        x2 = 3f * (constraints.c3 - 2f * constraints.c1);
+        x3 = 3f * (constraints.c1 - constraints.c3) + 1f;
+        y1 = 3f * constraints.c2;
+        y2 = 3f * (constraints.c4 - 2f * constraints.c2);
+        y3 = 3f * (constraints.c2 - constraints.c4) + 1f;
+
+        for (int i = 0; i <= Curve.BEZIER_SEGMENTS; i++)
+            table[i] = solveX((float) i / Curve.BEZIER_SEGMENTS);
+
+        //the error peaks between samples but not always halfway near vertical tangents, where refinement also moves
+        //away from the samples
+        float maxError = 0f;
+        for (int i = 0; i <= Curve.BEZIER_SEGMENTS * ERROR_SAMPLES; i++) {
+            float x = (float) i / (Curve.BEZIER_SEGMENTS * ERROR_SAMPLES);
+            float t = solveX(x);
+            maxError = Math.max(maxError, Math.abs(((y3 * t + y2) * t + y1) * t - ease(x)));
+        }
+        error = maxError;
+    }
+
+    @Override
+    public float ease(float value) {
+        float x = MathUtils.clamp(value, 0f, 1f);
+        float scaled = x * Curve.BEZIER_SEGMENTS;
+        int index = Math.min((int) scaled, Curve.BEZIER_SEGMENTS - 1);
+        float low = table[index], high = table[index + 1];
+        float t = linear(low, high, scaled - index);
+
+        //safeguarded Newton-Raphson on x(t) = x inside the bracket of the table, only when more precision is requested
+        for (int i = 0; i < refinement; i++) {
+            float error = ((x3 * t + x2) * t + x1) * t - x;
+            if (error < 0f)
+                low = t;
+            else
+                high = t;
+
+            float slope = (3f * x3 * t + 2f * x2) * t + x1;
+            float next = t - error / slope;
+            t = next > low && next < high ? next : (low + high) * 0.5f;
+        }
+
+        return ((y3 * t + y2) * t + y1) * t;
+    }
+
+    @Override
+    public void ease(float[] values, int offset, int count) {
+        for (int i = offset, end = offset + count; i < end; i++)
+            values[i] = ease(values[i]);
+    }
+
+    /**
+     * @return maximum error of the eased weight, measured at {@link #ERROR_SAMPLES} points per segment of the table
+     */
+    float getError() {
+        return error;
+    }
+
+    /**
+     * Finds t in [0, 1] so that x(t) = x by bisection. x(0) = 0 and x(1) = 1 so there is always a solution.
+     */
+    private float solveX(float x) {
+        double low = 0.0, high = 1.0;
+        for (int i = 0; i < 40; i++) {
+            double t = (low + high) * 0.5;
+            if (((x3 * t + x2) * t + x1) * t < x)
+                low = t;
+            else
+                high = t;
+        }
+        return (float) ((low + high) * 0.5);
+    }
+}
@@ -2,13 +2,8 @@ package me.winter.gdx.animation.math;
 
 import com.badlogic.gdx.math.Vector2;
 
-import static me.winter.gdx.animation.math.Interpolator.bezier;
-import static me.winter.gdx.animation.math.Interpolator.cubic;
 import static me.winter.gdx.animation.math.Interpolator.linear;
-import static me.winter.gdx.animation.math.Interpolator.quadratic;
-import static me.winter.gdx.animation.math.Interpolator.quartic;
-import static me.winter.gdx.animation.math.Interpolator.quintic;
-import static me.winter.gdx.animation.math.Interpolator.solveCubic;
+import static me.winter.gdx.animation.math.Interpolator.spinAngle;
 
 /**
  * Represents a curve in a Spriter SCML file. An instance of this class is responsible for tweening given data. The most
@@ -17,9 +12,15 @@ import static me.winter.gdx.animation.math.Interpolator.solveCubic;
  * @author Alexander Winter
  */
 public class Curve {
+    /**
+     * Amount of segments in the easing table of {@link CurveType#BEZIER} curves
+     */
+    public static final int BEZIER_SEGMENTS = 32;
+
     private CurveType type;
 
-    private float lastCubicSolution = 0f;
+    private CurveEvaluator evaluator;
+    private int bezierRefinement = 0;
 
     /**
      * The constraints of a curve which will affect a curve of the types different from {@link CurveType#LINEAR} and {@link
@@ -34,6 +35,8 @@ public class Curve {
      */
     public Curve(CurveType type) {
         this.type = type;
+        constraints.curve = this;
+        prepare();
     }
 
     /**
@@ -58,44 +61,118 @@ public class Curve {
      * @return tweened angle
      */
     public float interpolateAngle(float a, float b, float value, int spin) {
-        if (spin > 0) {
-            if (b - a < 0)
-                b += 360;
-        } else if (spin < 0) {
-            if (b - a > 0)
-                b -= 360;
-        } else
+        if (spin == 0)
             return a;
 
-        return interpolate(a, b, value);
+        return spinAngle(a, b, ease(value), spin);
     }
 
     public float interpolate(float a, float b, float value) {
+        return linear(a, b, ease(value));
+    }
+
+    /**
+     * Returns the eased ratio of this curve for the given weight. Since every curve is linear in its end points, the
+     * returned ratio can be computed once per key span and reused with {@link Interpolator#linear(float, float,
+     * float)} for every tweened channel.
+     *
+     * @param value the weight which lies between 0.0 and 1.0
+     * @return the eased weight
+     */
+    public float ease(float value) {
+        //most keys are linear or instant, answer them without going through the evaluator
+        if (type == CurveType.LINEAR)
+            return value;
+        if (type == CurveType.INSTANT)
+            return 0f;
+
+        return getEvaluator().ease(value);
+    }
+
+    /**
+     * Eases in place a range of weights, see {@link #ease(float)}.
+     *
+     * @param values array of weights which lie between 0.0 and 1.0
+     * @param offset index of the first weight to ease
+     * @param count  amount of weights to ease
+     */
+    public void ease(float[] values, int offset, int count) {
+        getEvaluator().ease(values, offset, count);
+    }
+
+    /**
+     * Drops the evaluator, called whenever the type or constraints change. Loaders build it with {@link
+     * #getEvaluator()} once the type and constraints are set, so that the table of bezier curves is built once and
+     * outside of playback. Curves changed afterwards build it again when first eased.
+     */
+    private void prepare() {
+        evaluator = null;
+    }
+
+    /**
+     * Returns the evaluator easing weights for the current type and constraints, building it if needed. Evaluators are
+     * immutable: if threads ease a new curve at the same time, each may build one but they are equivalent.
+     *
+     * @return the evaluator easing weights for the current type and constraints
+     */
+    public CurveEvaluator getEvaluator() {
+        CurveEvaluator evaluator = this.evaluator;
+        if (evaluator == null)
+            this.evaluator = evaluator = createEvaluator();
+        return evaluator;
+    }
+
+    private CurveEvaluator createEvaluator() {
         switch (type) {
             case INSTANT:
-                return a;
-            case LINEAR:
-                return linear(a, b, value);
+                return InstantEvaluator.INSTANCE;
             case QUADRATIC:
-                return quadratic(a, linear(a, b, constraints.c1), b, value);
+                return new PolynomialEvaluator(2, constraints);
             case CUBIC:
-                return cubic(a, linear(a, b, constraints.c1), linear(a, b, constraints.c2), b, value);
+                return new PolynomialEvaluator(3, constraints);
             case QUARTIC:
-                return quartic(a, linear(a, b, constraints.c1), linear(a, b, constraints.c2), linear(a, b, constraints.c3), b, value);
+                return new PolynomialEvaluator(4, constraints);
             case QUINTIC:
-                return quintic(a, linear(a, b, constraints.c1), linear(a, b, constraints.c2), linear(a, b, constraints.c3), linear(a, b, constraints.c4), b, value);
+                return new PolynomialEvaluator(5, constraints);
             case BEZIER:
-                float cubicSolution = solveCubic(3f * (constraints.c1 - constraints.c3) + 1f, 3f * (constraints.c3 - 2f * constraints.c1), 3f * constraints.c1, -value);
-                if (cubicSolution == -1) //TODO (check if actually happen)
-                    cubicSolution = lastCubicSolution;
-                else
-                    lastCubicSolution = cubicSolution;
-                return linear(a, b, bezier(cubicSolution, 0f, constraints.c2, constraints.c4, 1f));
+                return new BezierEvaluator(constraints, bezierRefinement);
             default:
-                return linear(a, b, value);
+                return LinearEvaluator.INSTANCE;
         }
     }
 
+    /**
+     * Returns the maximum error of {@link #ease(float)} for this curve, measured when its evaluator was built. It is
+     * always 0 except for {@link CurveType#BEZIER} curves, which are eased from a table.
+     *
+     * @return maximum error of the eased weight
+     */
+    public float getEasingError() {
+        CurveEvaluator evaluator = getEvaluator();
+        return evaluator instanceof BezierEvaluator ? ((BezierEvaluator) evaluator).getError() : 0f;
+    }
+
+    /**
+     * Sets how many Newton-Raphson iterations refine the tabled solution of {@link CurveType#BEZIER} curves. 0, the
+     * default, only uses the table. Each iteration at least halves the bracket of the table, 4 to 8 iterations are
+     * close to float precision even for curves with a vertical tangent.
+     *
+     * @param iterations amount of refinement iterations
+     */
+    public void setBezierRefinement(int iterations) {
+        if (iterations < 0)
+            throw new IllegalArgumentException("Refinement iterations can't be negative: " + iterations);
+
+        this.bezierRefinement = iterations;
+
+        if (type == CurveType.BEZIER)
+            prepare();
+    }
+
+    public int getBezierRefinement() {
+        return bezierRefinement;
+    }
+
     /**
      * Sets the type of this curve.
      *
@@ -104,6 +181,7 @@ public class Curve {
      */
     public void setType(CurveType type) {
         this.type = type;
+        prepare();
     }
 
     /**
@@ -122,8 +200,14 @@ public class Curve {
      * @author Alexander Winter
      */
     public static class Constraints {
+        /**
+         * Prefer {@link #set(float, float, float, float)} over writing these directly, it lets the owning curve
+         * refresh its precomputed coefficients.
+         */
         public float c1, c2, c3, c4;
 
+        private Curve curve;
+
         public Constraints(float c1, float c2, float c3, float c4) {
             this.set(c1, c2, c3, c4);
         }
@@ -133,6 +217,28 @@ public class Curve {
             this.c2 = c2;
             this.c3 = c3;
             this.c4 = c4;
+
+            if (curve != null)
+                curve.prepare();
+        }
+
+        /**
+         * @param index index of the constraint, from 1 to 4
+         * @return the constraint at the given index
+         */
+        public float get(int index) {
+            switch (index) {
+                case 1:
+                    return c1;
+                case 2:
+                    return c2;
+                case 3:
+                    return c3;
+                case 4:
+                    return c4;
+                default:
+                    throw new IndexOutOfBoundsException("Constraint index must be between 1 and 4: " + index);
+            }
         }
     }
 
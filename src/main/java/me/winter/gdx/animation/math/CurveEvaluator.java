@@ -0,0 +1,22 @@
+package me.winter.gdx.animation.math;
+
+/**
+ * Eases a normalized weight for one {@link Curve.CurveType}. A {@link Curve} selects its evaluator once, when its type
+ * or constraints change, instead of switching on its type for every eased value.
+ */
+public interface CurveEvaluator {
+    /**
+     * @param value the weight which lies between 0.0 and 1.0
+     * @return the eased weight
+     */
+    float ease(float value);
+
+    /**
+     * Eases in place a range of weights
+     *
+     * @param values array of weights which lie between 0.0 and 1.0
+     * @param offset index of the first weight to ease
+     * @param count  amount of weights to ease
+     */
+    void ease(float[] values, int offset, int count);
+}
@@ -0,0 +1,22 @@
+package me.winter.gdx.animation.math;
+
+/**
+ * Evaluator of {@link Curve.CurveType#INSTANT} curves, stays on the first key until the next one.
+ */
+final class InstantEvaluator implements CurveEvaluator {
+    static final InstantEvaluator INSTANCE = new InstantEvaluator();
+
+    private InstantEvaluator() {
+    }
+
+    @Override
+    public float ease(float value) {
+        return 0f;
+    }
+
+    @Override
+    public void ease(float[] values, int offset, int count) {
+        for (int i = offset, end = offset + count; i < end; i++)
+            values[i] = 0f;
+    }
+}
@@ -21,6 +21,28 @@ public class Interpolator {
         return a + (((((b - a) % 360) + 540) % 360) - 180) * t;
     }
 
+    /**
+     * Linear interpolation of an angle in degrees following the given Spriter spin.
+     *
+     * @param a    the start angle
+     * @param b    the end angle
+     * @param t    the weight which lies between 0.0 and 1.0
+     * @param spin the spin, which is either 0, 1 or -1
+     * @return tweened angle, a if the spin is 0
+     */
+    public static float spinAngle(float a, float b, float t, int spin) {
+        if (spin > 0) {
+            if (b - a < 0)
+                b += 360;
+        } else if (spin < 0) {
+            if (b - a > 0)
+                b -= 360;
+        } else
+            return a;
+
+        return linear(a, b, t);
+    }
+
     public static float quadratic(float a, float b, float c, float t) {
         return linear(linear(a, b, t), linear(b, c, t), t);
     }
@@ -127,8 +149,6 @@ public class Interpolator {
                 return result;
         }
 
-        //DEBUG
-        System.out.println("WARNING: No cubic solution found for " + a + ", " + b + ", " + c + ", " + d);
         return -1;
     }
 
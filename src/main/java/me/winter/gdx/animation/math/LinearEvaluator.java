@@ -0,0 +1,20 @@
+package me.winter.gdx.animation.math;
+
+/**
+ * Evaluator of {@link Curve.CurveType#LINEAR} curves, the weight is left untouched.
+ */
+final class LinearEvaluator implements CurveEvaluator {
+    static final LinearEvaluator INSTANCE = new LinearEvaluator();
+
+    private LinearEvaluator() {
+    }
+
+    @Override
+    public float ease(float value) {
+        return value;
+    }
+
+    @Override
+    public void ease(float[] values, int offset, int count) {
+    }
+}
@@ -0,0 +1,58 @@
+package me.winter.gdx.animation.math;
+
+/**
+ * Evaluator of {@link Curve.CurveType#QUADRATIC} to {@link Curve.CurveType#QUINTIC} curves. The Bernstein polynomial
+ * going from 0 to 1 through the constraints is converted once to the monomial basis, ease(t) = k1*t + k2*t^2 + k3*t^3 +
+ * k4*t^4 + k5*t^5, with unused degrees left to 0.
+ */
+final class PolynomialEvaluator implements CurveEvaluator {
+    private final float k1, k2, k3, k4, k5;
+
+    /**
+     * @param degree      degree of the curve, from 2 to 5
+     * @param constraints constraints of the curve, the first degree - 1 ones are used
+     */
+    PolynomialEvaluator(int degree, Curve.Constraints constraints) {
+        //control points of the normalized curve going from 0 to 1
+        float[] points = new float[degree + 1];
+        points[0] = 0f;
+        for (int i = 1; i < degree; i++)
+            points[i] = constraints.get(i);
+        points[degree] = 1f;
+
+        //Bernstein to monomial basis, a_j = C(n, j) * sum (-1)^(j - i) * C(j, i) * P_i
+        float[] coefficients = new float[6];
+        for (int j = 1; j <= degree; j++) {
+            float sum = 0f;
+            for (int i = 0; i <= j; i++)
+                sum += ((j - i) % 2 == 0 ? 1 : -1) * binomial(j, i) * points[i];
+            coefficients[j] = binomial(degree, j) * sum;
+        }
+
+        k1 = coefficients[1];
+        k2 = coefficients[2];
+        k3 = coefficients[3];
+        k4 = coefficients[4];
+        k5 = coefficients[5];
+    }
+
+    @Override
+    public float ease(float value) {
+        return value * (k1 + value * (k2 + value * (k3 + value * (k4 + value * k5))));
+    }
+
+    @Override
+    public void ease(float[] values, int offset, int count) {
+        for (int i = offset, end = offset + count; i < end; i++) {
+            float value = values[i];
+            values[i] = value * (k1 + value * (k2 + value * (k3 + value * (k4 + value * k5))));
+        }
+    }
+
+    private static int binomial(int n, int k) {
+        int result = 1;
+        for (int i = 1; i <= k; i++)
+            result = result * (n - k + i) / i;
+        return result;
+    }
+}
@@ -6,6 +6,9 @@ import com.badlogic.gdx.utils.ObjectMap;
 
 import me.winter.gdx.animation.Entity;
 import me.winter.gdx.animation.EntityNotFoundException;
+import me.winter.gdx.animation.KeyframeStore;
+import me.winter.gdx.animation.MemoryFootprint;
+import me.winter.gdx.animation.NameIndex;
 import me.winter.gdx.animation.drawable.TextureSpriteDrawable;
 
 /**
@@ -16,10 +19,12 @@ import me.winter.gdx.animation.drawable.TextureSpriteDrawable;
 public class SCMLProject {
     private final ArrayMap<Object, Folder> assets;
     private final Array<Entity> entities;
+    private final NameIndex<Entity> entityIndex;
 
     public SCMLProject() {
         this.assets = new ArrayMap<>();
         this.entities = new Array<>();
+        this.entityIndex = new NameIndex<>(entities, Entity::getName);
     }
 
     public Entity getEntity(int index) {
@@ -36,11 +41,21 @@ public class SCMLProject {
      * @throws EntityNotFoundException if the spriter entity could not be found
      */
     public Entity getEntity(String name) {
-        for (Entity entity : entities)
-            if (entity.getName().equals(name))
-                return new Entity(entity);
+        int index = entityIndex.indexOf(name);
+        if (index == -1)
+            throw new EntityNotFoundException(name);
 
-        throw new EntityNotFoundException(name);
+        return new Entity(entities.get(index));
+    }
+
+    /**
+     * Returns the index of an entity, {@link #getEntity(int)} then returns the source entity without copying it
+     *
+     * @param name the name of the entity
+     * @return index of the entity, -1 if not found
+     */
+    public int getEntityId(String name) {
+        return entityIndex.indexOf(name);
     }
 
     public void putAsset(int folderID, String folderName, int fileID, TextureSpriteDrawable asset) {
@@ -78,6 +93,28 @@ public class SCMLProject {
         return entities;
     }
 
+    /**
+     * Adds the source entities of this project to the given footprint. Its instance bytes are the cost of copying
+     * every entity once with {@link #getEntity(String)}.
+     *
+     * @param footprint footprint to add to
+     * @return the given footprint
+     */
+    public MemoryFootprint measure(MemoryFootprint footprint) {
+        return footprint.addAll(entities);
+    }
+
+    /**
+     * Packs the keys of the source entities of this project, so that the entities returned by {@link
+     * #getEntity(String)} share their channels, see {@link Entity#compact(KeyframeStore.Quantization)}
+     *
+     * @param quantization precision of the packed channels
+     */
+    public void compact(KeyframeStore.Quantization quantization) {
+        for (int i = 0; i < entities.size; i++)
+            entities.get(i).compact(quantization);
+    }
+
     public static int getAssetKey(int folder, int file) {
         return (folder << 16) + file;
     }
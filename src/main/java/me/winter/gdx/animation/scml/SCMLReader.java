@@ -10,13 +10,17 @@ import com.badlogic.gdx.utils.XmlReader.Element;
 
 import me.winter.gdx.animation.AnimatedPart;
 import me.winter.gdx.animation.Animation;
+import me.winter.gdx.animation.BoxPart;
+import me.winter.gdx.animation.CharacterMap;
 import me.winter.gdx.animation.Entity;
 import me.winter.gdx.animation.Mainline;
 import me.winter.gdx.animation.MainlineKey;
 import me.winter.gdx.animation.ObjectRef;
+import me.winter.gdx.animation.PointPart;
 import me.winter.gdx.animation.Sprite;
 import me.winter.gdx.animation.Timeline;
 import me.winter.gdx.animation.TimelineKey;
+import me.winter.gdx.animation.drawable.SpriteDrawable;
 import me.winter.gdx.animation.drawable.TextureSpriteDrawable;
 import me.winter.gdx.animation.math.Curve;
 import me.winter.gdx.animation.math.Curve.CurveType;
@@ -38,6 +42,11 @@ public class SCMLReader {
      */
     private final ObjectMap<ObjectRef, Integer> zIndexTmpMap = new ObjectMap<>();
 
+    /**
+     * Object infos of the entity being loaded by name, they hold the size of its boxes
+     */
+    private final ObjectMap<String, Element> objInfoTmpMap = new ObjectMap<>();
+
     /**
      * Creates a new SCML reader
      */
@@ -129,42 +138,40 @@ public class SCMLReader {
                 currentProject.putFolderID(folderID, folderName);
                 continue;
             }
-            for (Element file : files) {
-                String name = file.get("name");
-
-                String[] parts = name.split("/");
-                name = parts[parts.length - 1].replace(".png", "");
-
-                TextureSpriteDrawable asset;
-
-                TextureRegion region = atlas.findRegion(name);
-
-                asset = new TextureSpriteDrawable(region,
-                        file.getFloat("pivot_x", 0f),
-                        file.getFloat("pivot_y", 1f));
-
-                currentProject.putAsset(folderID, folderName, file.getInt("id"), asset);
-            }
+            for (Element file : files)
+                currentProject.putAsset(folderID, folderName, file.getInt("id"), loadAsset(file));
         }
     }
 
     private void loadAssetsByName(Array<Element> folders) {
         for (Element folder : folders) {
-            for (Element file : folder.getChildrenByName("file")) {
-                String name = file.get("name");
+            for (Element file : folder.getChildrenByName("file"))
+                currentProject.putAsset(folder.get("name"), file.getInt("id"), loadAsset(file));
+        }
+    }
 
-                String[] parts = name.split("/");
-                name = parts[parts.length - 1].replace(".png", "");
+    /**
+     * Creates the drawable of a file. Without atlas, the drawable has no region and only keeps the size and pivot of
+     * the image from the attributes of the file, which is enough to simulate animations headless.
+     *
+     * @param file file to load
+     * @return drawable of the file
+     */
+    protected TextureSpriteDrawable loadAsset(Element file) {
+        float pivotX = file.getFloat("pivot_x", 0f);
+        float pivotY = file.getFloat("pivot_y", 1f);
 
-                TextureRegion region = atlas.findRegion(name);
+        if (atlas == null)
+            return new TextureSpriteDrawable(null, pivotX, pivotY, file.getFloat("width", 0f), file.getFloat("height", 0f));
 
-                TextureSpriteDrawable asset = new TextureSpriteDrawable(region,
-                        file.getFloat("pivot_x", 0f),
-                        file.getFloat("pivot_y", 1f));
+        String name = file.get("name");
 
-                currentProject.putAsset(folder.get("name"), file.getInt("id"), asset);
-            }
-        }
+        String[] parts = name.split("/");
+        name = parts[parts.length - 1].replace(".png", "");
+
+        TextureRegion region = atlas.findRegion(name);
+
+        return new TextureSpriteDrawable(region, pivotX, pivotY);
     }
 
     /**
@@ -176,12 +183,44 @@ public class SCMLReader {
         for (Element xmlElement : entities) {
             Entity entity = new Entity(xmlElement.get("name"));
 
+            objInfoTmpMap.clear();
+            for (Element objInfo : xmlElement.getChildrenByName("obj_info"))
+                objInfoTmpMap.put(objInfo.get("name", ""), objInfo);
+
+            loadCharacterMaps(xmlElement.getChildrenByName("character_map"), entity);
             loadAnimations(xmlElement.getChildrenByName("animation"), entity);
 
             currentProject.getSourceEntities().add(entity);
         }
     }
 
+    /**
+     * Iterates through the given character maps and adds them to the given {@link Entity} object. An image mapped
+     * without target is hidden.
+     *
+     * @param characterMaps a list of character maps to load
+     * @param entity        the entity containing the character maps
+     */
+    protected void loadCharacterMaps(Array<Element> characterMaps, Entity entity) {
+        for (Element xmlElement : characterMaps) {
+            Array<Element> maps = xmlElement.getChildrenByName("map");
+
+            int[] keys = new int[maps.size];
+            SpriteDrawable[] drawables = new SpriteDrawable[maps.size];
+
+            for (int i = 0; i < maps.size; i++) {
+                Element map = maps.get(i);
+                keys[i] = SCMLProject.getAssetKey(map.getInt("folder"), map.getInt("file"));
+
+                int targetFolder = map.getInt("target_folder", -1);
+                int targetFile = map.getInt("target_file", -1);
+                drawables[i] = targetFolder != -1 && targetFile != -1 ? currentProject.getAsset(targetFolder, targetFile) : null;
+            }
+
+            entity.getCharacterMaps().add(new CharacterMap(xmlElement.get("name", ""), keys, drawables));
+        }
+    }
+
     /**
      * Iterates through the given animations and adds them to the given {@link Entity} object.
      *
@@ -208,7 +247,7 @@ public class SCMLReader {
                     mainline,
                     timelines);
 
-            entity.getAnimations().add(animation);
+            entity.addAnimation(animation);
         }
     }
 
@@ -228,6 +267,7 @@ public class SCMLReader {
 
             Curve curve = new Curve(CurveType.valueOf(xmlElement.get("curve_type", "linear").toUpperCase(Locale.ENGLISH)));
             curve.constraints.set(xmlElement.getFloat("c1", 0f), xmlElement.getFloat("c2", 0f), xmlElement.getFloat("c3", 0f), xmlElement.getFloat("c4", 0f));
+            curve.getEvaluator(); //builds bezier tables while loading rather than on the first frame
 
             Array<ObjectRef> objectRefs = new Array<>(xmlBoneRefs.size + xmlObjectRefs.size);
 
@@ -259,7 +299,7 @@ public class SCMLReader {
             int id = xmlElement.getInt("id");
             String name = xmlElement.get("name");
 
-            Array<TimelineKey> timelineKeys = loadTimelineKeys(id, xmlElement.getChildrenByName("key"));
+            Array<TimelineKey> timelineKeys = loadTimelineKeys(id, name, xmlElement.get("object_type", "sprite"), xmlElement.getChildrenByName("key"));
 
             timelines.add(new Timeline(id, name, timelineKeys));
         }
@@ -273,11 +313,26 @@ public class SCMLReader {
      * @return array of timeline keys
      */
     protected Array<TimelineKey> loadTimelineKeys(int timelineId, Array<Element> keys) {
+        return loadTimelineKeys(timelineId, "", "sprite", keys);
+    }
+
+    /**
+     * Iterates through the given timeline keys. Objects of box and point timelines are loaded as {@link BoxPart}s and
+     * {@link PointPart}s, the size of boxes coming from the <code>obj_info</code> of the timeline name.
+     *
+     * @param timelineId   id of the parent timeline
+     * @param timelineName name of the parent timeline
+     * @param objectType   object type of the parent timeline, sprite by default
+     * @param keys         a list if timeline keys as xml
+     * @return array of timeline keys
+     */
+    protected Array<TimelineKey> loadTimelineKeys(int timelineId, String timelineName, String objectType, Array<Element> keys) {
         Array<TimelineKey> timelineKeys = new Array<>(keys.size);
 
         for (Element xmlKey : keys) {
             Curve curve = new Curve(CurveType.valueOf(xmlKey.get("curve_type", "linear").toUpperCase(Locale.ENGLISH)));
             curve.constraints.set(xmlKey.getFloat("c1", 0f), xmlKey.getFloat("c2", 0f), xmlKey.getFloat("c3", 0f), xmlKey.getFloat("c4", 0f));
+            curve.getEvaluator();
 
             int keyId = xmlKey.getInt("id", -1);
 
@@ -293,7 +348,15 @@ public class SCMLReader {
 
             float angle = obj.getFloat("angle", 0f);
 
-            if (type.equalsIgnoreCase("object") || type.equalsIgnoreCase("sprite")) {
+            if (objectType.equalsIgnoreCase("box")) {
+                Element info = objInfoTmpMap.get(timelineName);
+                float width = info != null ? info.getFloat("w", 0f) : 0f;
+                float height = info != null ? info.getFloat("h", 0f) : 0f;
+
+                key.setObject(new BoxPart(position, scale, angle, width, height, obj.getFloat("pivot_x", 0f), obj.getFloat("pivot_y", 1f)));
+            } else if (objectType.equalsIgnoreCase("point"))
+                key.setObject(new PointPart(position, scale, angle));
+            else if (type.equalsIgnoreCase("object") || type.equalsIgnoreCase("sprite")) {
                 int folder = obj.getInt("folder");
                 int file = obj.getInt("file");
                 TextureSpriteDrawable asset = currentProject.getAsset(folder, file); //corresponding sprite
@@ -316,6 +379,12 @@ public class SCMLReader {
         return atlas;
     }
 
+    /**
+     * Sets the atlas the regions of the files are looked up in. Without atlas, files are loaded headless, see {@link
+     * #loadAsset(Element)}.
+     *
+     * @param atlas atlas of the images, null to load headless
+     */
     public void setAtlas(TextureAtlas atlas) {
         this.atlas = atlas;
     }
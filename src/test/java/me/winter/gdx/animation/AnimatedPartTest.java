@@ -0,0 +1,91 @@
+package me.winter.gdx.animation;
+
+import com.badlogic.gdx.math.Vector2;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static java.lang.Math.signum;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Checks {@link AnimatedPart#unmap(AnimatedPart)} against scaling, rotating and translating the part one step at a
+ * time, as it was done before parts cached their matrix.
+ */
+public class AnimatedPartTest {
+    private static final float TOLERANCE = 1e-3f;
+
+    @Test
+    public void flippedAndWrappedParents() {
+        float[] angles = { 0f, 37f, -90f, 180f, 359f, 360f, 405f, -725f, 1080.5f };
+        float[] scales = { 1f, -1f, 0.5f, -2.25f };
+
+        for (float angle : angles)
+            for (float scaleX : scales)
+                for (float scaleY : scales)
+                    assertSameUnmap(new AnimatedPart(new Vector2(12f, -40f), new Vector2(scaleX, scaleY), angle),
+                            new AnimatedPart(new Vector2(-7.5f, 30f), new Vector2(1.5f, -0.75f), 250f));
+    }
+
+    @Test
+    public void changedParents() {
+        Random random = new Random(29);
+        AnimatedPart parent = new AnimatedPart();
+
+        //the same parent is reused, its cached matrix has to follow its angle and scale
+        for (int i = 0; i < 500; i++) {
+            if (random.nextBoolean())
+                parent.setAngle(random.nextFloat() * 1440f - 720f);
+            if (random.nextBoolean())
+                parent.setScale(random.nextFloat() * 4f - 2f, random.nextFloat() * 4f - 2f);
+            parent.getPosition().set(random.nextFloat() * 200f - 100f, random.nextFloat() * 200f - 100f);
+
+            AnimatedPart child = new AnimatedPart(new Vector2(random.nextFloat() * 100f, random.nextFloat() * 100f),
+                    new Vector2(random.nextFloat() * 2f - 1f, 1f), random.nextFloat() * 720f - 360f);
+            assertSameUnmap(parent, child);
+        }
+    }
+
+    @Test
+    public void hierarchy() {
+        AnimatedPart root = new AnimatedPart(new Vector2(100f, 50f), new Vector2(-1f, 1f), 30f);
+        AnimatedPart bone = new AnimatedPart(new Vector2(20f, 0f), new Vector2(1f, -1.5f), 400f);
+        AnimatedPart sprite = new AnimatedPart(new Vector2(5f, 8f), new Vector2(2f, 2f), -45f);
+
+        AnimatedPart expectedBone = unmapped(root, bone), expectedSprite = unmapped(expectedBone, sprite);
+
+        bone.unmap(root);
+        sprite.unmap(bone);
+
+        assertSamePart(expectedBone, bone);
+        assertSamePart(expectedSprite, sprite);
+    }
+
+    private static void assertSameUnmap(AnimatedPart parent, AnimatedPart child) {
+        AnimatedPart expected = unmapped(parent, child);
+        child.unmap(parent);
+        assertSamePart(expected, child);
+    }
+
+    /**
+     * @return the child mapped on its parent by scaling, rotating and translating it
+     */
+    private static AnimatedPart unmapped(AnimatedPart parent, AnimatedPart child) {
+        AnimatedPart part = new AnimatedPart(child);
+        part.angle *= signum(parent.scale.x) * signum(parent.scale.y);
+        part.angle += parent.angle;
+        part.scale.scl(parent.scale);
+        part.position.scl(parent.scale);
+        part.position.rotate(parent.angle);
+        part.position.add(parent.position);
+        return part;
+    }
+
+    private static void assertSamePart(AnimatedPart expected, AnimatedPart actual) {
+        assertEquals(expected.position.x, actual.position.x, TOLERANCE);
+        assertEquals(expected.position.y, actual.position.y, TOLERANCE);
+        assertEquals(expected.scale.x, actual.scale.x, 0f);
+        assertEquals(expected.scale.y, actual.scale.y, 0f);
+        assertEquals(expected.angle, actual.angle, 0f);
+    }
+}
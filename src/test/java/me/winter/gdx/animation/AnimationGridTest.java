@@ -0,0 +1,156 @@
+package me.winter.gdx.animation;
+
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.utils.Array;
+import me.winter.gdx.animation.drawable.TextureSpriteDrawable;
+import me.winter.gdx.animation.scml.SCMLReader;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Checks that {@link AnimationGrid} finds the same animations as testing the bounds of every animation, with
+ * animations spanning many cells and animations too large to be put in cells.
+ */
+public class AnimationGridTest {
+    private static final float CELL_SIZE = 64f;
+
+    private Entity source;
+
+    @Before
+    public void load() {
+        SCMLGenerator generator = new SCMLGenerator();
+        generator.setBoneDepth(2);
+        generator.setSpritesPerBone(2);
+
+        SCMLReader reader = new SCMLReader();
+        reader.setAtlas(generator.createAtlas());
+        source = reader.load(generator.generate()).getEntity(0);
+    }
+
+    @Test
+    public void queriesMatchBruteForce() {
+        Random random = new Random(31);
+        AnimationGrid grid = new AnimationGrid(CELL_SIZE, 16);
+        Array<Animation> animations = new Array<>();
+
+        for (int i = 0; i < 200; i++) {
+            //some animations cover many cells, some are too large for the grid
+            Animation animation = place(random.nextFloat() * 2000f - 1000f, random.nextFloat() * 2000f - 1000f,
+                    i % 10 == 0 ? 8f : 0.5f + random.nextFloat() * 2f);
+            animations.add(animation);
+            grid.add(animation);
+        }
+        assertEquals(animations.size, grid.size());
+
+        Array<Animation> found = new Array<>();
+        for (int i = 0; i < 300; i++) {
+            if (i % 50 == 0) {
+                //move some animations, the grid must follow them
+                for (int j = 0; j < animations.size; j += 3) {
+                    Animation animation = animations.get(j);
+                    animation.setPosition(random.nextFloat() * 2000f - 1000f, random.nextFloat() * 2000f - 1000f);
+                    animation.update(17f);
+                }
+                grid.updateAll();
+            }
+
+            Rectangle area = new Rectangle(random.nextFloat() * 2400f - 1200f, random.nextFloat() * 2400f - 1200f,
+                    random.nextFloat() * 600f, random.nextFloat() * 600f);
+
+            found.clear();
+            grid.query(area, found);
+
+            for (int j = 0; j < found.size; j++)
+                assertEquals("found twice", j, found.indexOf(found.get(j), true));
+
+            for (int j = 0; j < animations.size; j++) {
+                RectF bounds = animations.get(j).getBounds();
+                boolean overlapping = bounds.intersects(area.x, area.y, area.x + area.width, area.y + area.height);
+                assertEquals(overlapping, found.contains(animations.get(j), true));
+            }
+        }
+    }
+
+    @Test
+    public void oversizedAnimations() {
+        AnimationGrid grid = new AnimationGrid(CELL_SIZE, 4);
+        Animation huge = place(0f, 0f, 10f), small = place(5000f, 5000f, 1f);
+        grid.add(huge);
+        grid.add(small);
+
+        //the huge animation is found far from the cell of its origin, once per query
+        RectF bounds = huge.getBounds();
+        Rectangle corner = new Rectangle(bounds.right - 1f, bounds.bottom - 1f, 2f, 2f);
+        Array<Animation> found = grid.query(corner, new Array<>());
+        assertEquals(1, found.size);
+        assertSame(huge, found.first());
+        assertEquals(2, grid.query(new Rectangle(-10000f, -10000f, 20000f, 20000f), new Array<>()).size);
+
+        //once small again, it moves to the cells and leaves the other queries
+        huge.setScale(1f);
+        huge.update(17f);
+        grid.update(huge);
+        assertEquals(0, grid.query(corner, new Array<>()).size);
+
+        grid.remove(huge);
+        assertFalse(grid.contains(huge));
+        assertEquals(0, grid.query(new Rectangle(-1000f, -1000f, 2000f, 2000f), new Array<>()).size);
+    }
+
+    @Test
+    public void pickTopmost() {
+        AnimationGrid grid = new AnimationGrid(CELL_SIZE);
+        Animation below = place(0f, 0f, 1f), above = place(0f, 0f, 1f);
+
+        //sprites so large that the animation covers every other one and is too large for the grid
+        Entity entity = new Entity(source);
+        TextureRegion region = new TextureRegion(SCMLGenerator.createTexture(2048, 2048));
+        for (Timeline timeline : entity.getAnimation(0).getTimelines())
+            if (timeline.getName().startsWith("sprite"))
+                entity.getOverrides().setDrawable(timeline.getName(), new TextureSpriteDrawable(region, 0.5f, 0.5f));
+        Animation huge = entity.getAnimation(0);
+        huge.startPlay();
+        huge.update(17f);
+        RectF bounds = huge.getBounds();
+        assertTrue(bounds.width() * bounds.height() > CELL_SIZE * CELL_SIZE * AnimationGrid.DEFAULT_MAX_CELLS);
+
+        float x = below.getBounds().centerX(), y = below.getBounds().centerY();
+        while (below.hit(x, y) == null)
+            x += 1f;
+
+        grid.add(below);
+        grid.add(above);
+        assertSame(above, grid.pickAnimation(x, y));
+
+        grid.setDepth(below, 1);
+        assertSame(below, grid.pickAnimation(x, y));
+        assertNotNull(grid.pick(x, y));
+
+        //oversized animations compete with the ones in cells
+        grid.add(huge, 2);
+        assertSame(huge, grid.pickAnimation(x, y));
+
+        grid.clear();
+        assertNull(grid.pickAnimation(x, y));
+        assertNull(grid.pick(x, y));
+    }
+
+    private Animation place(float x, float y, float scale) {
+        Animation animation = new Entity(source).getAnimation(0);
+        animation.setPosition(x, y);
+        animation.setScale(scale);
+        animation.startPlay();
+        animation.update(17f);
+        return animation;
+    }
+}
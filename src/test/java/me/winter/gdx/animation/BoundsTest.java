@@ -0,0 +1,137 @@
+package me.winter.gdx.animation;
+
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.utils.Array;
+import me.winter.gdx.animation.drawable.TextureSpriteDrawable;
+import me.winter.gdx.animation.scml.SCMLReader;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Checks {@link Animation#getBounds()}, {@link Animation#hit(float, float)} and {@link Animation#overlaps(Rectangle)}
+ * against the quads the animation actually draws.
+ */
+public class BoundsTest {
+    //the batch rotates with a lookup table, boxes with precise trigonometry
+    private static final float TOLERANCE = 0.5f;
+
+    private Entity entity;
+    private Animation animation;
+
+    @Before
+    public void load() {
+        SCMLGenerator generator = new SCMLGenerator();
+        generator.setBoneDepth(2);
+        generator.setSpritesPerBone(2);
+
+        SCMLReader reader = new SCMLReader();
+        reader.setAtlas(generator.createAtlas());
+        entity = reader.load(generator.generate()).getEntity(0);
+        animation = entity.getAnimation(0);
+        animation.startPlay();
+    }
+
+    @Test
+    public void rotated() {
+        animation.setPosition(60f, -20f);
+        animation.setAngle(37f);
+        assertMatchesDraw();
+    }
+
+    @Test
+    public void flippedX() {
+        animation.setAngle(-110f);
+        animation.setScale(-1.5f, 1f);
+        assertMatchesDraw();
+    }
+
+    @Test
+    public void flippedY() {
+        animation.setPosition(-300f, 80f);
+        animation.setAngle(200f);
+        animation.setScale(1f, -2f);
+        assertMatchesDraw();
+    }
+
+    @Test
+    public void swappedDrawable() {
+        animation.setAngle(15f);
+        animation.update(120f);
+        animation.getBounds();
+
+        //bounds are cached until the next update, but must follow the overrides
+        TextureRegion region = new TextureRegion(SCMLGenerator.createTexture(256, 256), 0, 0, 200, 120);
+        for (Timeline timeline : animation.getTimelines())
+            if (timeline.getName().startsWith("sprite"))
+                entity.getOverrides().setDrawable(timeline.getName(), new TextureSpriteDrawable(region, 0.2f, 0.9f));
+
+        assertSameBounds(drawnQuads());
+        assertTopmostHit(drawnQuads());
+    }
+
+    private void assertMatchesDraw() {
+        for (int frame = 0; frame < 30; frame++) {
+            animation.update(23f);
+
+            float[] quads = drawnQuads();
+            assertSameBounds(quads);
+            assertTopmostHit(quads);
+
+            RectF bounds = animation.getBounds();
+            assertNull(animation.hit(bounds.right + 10f, bounds.bottom + 10f));
+            assertFalse(animation.overlaps(new Rectangle(bounds.right + 10f, bounds.top, 5f, 5f)));
+        }
+    }
+
+    private float[] drawnQuads() {
+        RecordingBatch batch = new RecordingBatch(true);
+        animation.draw(batch);
+        return batch.getVertices().toArray();
+    }
+
+    private void assertSameBounds(float[] quads) {
+        assertTrue(quads.length > 0);
+
+        float left = Float.POSITIVE_INFINITY, top = Float.POSITIVE_INFINITY;
+        float right = Float.NEGATIVE_INFINITY, bottom = Float.NEGATIVE_INFINITY;
+        for (int i = 0; i < quads.length; i += 5) {
+            left = Math.min(left, quads[i]);
+            right = Math.max(right, quads[i]);
+            top = Math.min(top, quads[i + 1]);
+            bottom = Math.max(bottom, quads[i + 1]);
+        }
+
+        RectF bounds = animation.getBounds();
+        assertEquals(left, bounds.left, TOLERANCE);
+        assertEquals(right, bounds.right, TOLERANCE);
+        assertEquals(top, bounds.top, TOLERANCE);
+        assertEquals(bottom, bounds.bottom, TOLERANCE);
+    }
+
+    /**
+     * The center of the last drawn quad hits the topmost sprite and overlaps the animation
+     */
+    private void assertTopmostHit(float[] quads) {
+        int last = quads.length - 20;
+        float x = (quads[last] + quads[last + 5] + quads[last + 10] + quads[last + 15]) / 4f;
+        float y = (quads[last + 1] + quads[last + 6] + quads[last + 11] + quads[last + 16]) / 4f;
+
+        int topmost = Integer.MIN_VALUE;
+        Array<AnimatedPart> parts = animation.getParts();
+        for (int i = 0; i < parts.size; i++)
+            if (parts.get(i) instanceof Sprite && ((Sprite) parts.get(i)).isVisible())
+                topmost = Math.max(topmost, ((Sprite) parts.get(i)).getZIndex());
+
+        Sprite hit = animation.hit(x, y);
+        assertNotNull(hit);
+        assertEquals(topmost, hit.getZIndex());
+        assertTrue(animation.overlaps(new Rectangle(x - 1f, y - 1f, 2f, 2f)));
+    }
+}
@@ -0,0 +1,126 @@
+package me.winter.gdx.animation;
+
+import me.winter.gdx.animation.scml.SCMLReader;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Checks that box and point timelines are loaded with the sizes of their <code>obj_info</code>, tweened in world
+ * coordinates under their parent bone and hidden when not in the current mainline key.
+ */
+public class BoxAndPointTest {
+    private static final float EPSILON = 1e-3f;
+
+    //a bone turning by 90 degrees, holding a box in the first key only and a point moving in both keys
+    private static final String SCML = "<spriter_data scml_version=\"1.0\">\n"
+            + "  <entity id=\"0\" name=\"entity\">\n"
+            + "    <obj_info name=\"hitbox\" type=\"box\" w=\"40\" h=\"20\"/>\n"
+            + "    <obj_info name=\"muzzle\" type=\"point\"/>\n"
+            + "    <animation id=\"0\" name=\"shoot\" length=\"1000\" looping=\"false\">\n"
+            + "      <mainline>\n"
+            + "        <key id=\"0\" time=\"0\">\n"
+            + "          <bone_ref id=\"0\" timeline=\"0\" key=\"0\"/>\n"
+            + "          <object_ref id=\"1\" parent=\"0\" timeline=\"1\" key=\"0\"/>\n"
+            + "          <object_ref id=\"2\" parent=\"0\" timeline=\"2\" key=\"0\"/>\n"
+            + "        </key>\n"
+            + "        <key id=\"1\" time=\"500\">\n"
+            + "          <bone_ref id=\"0\" timeline=\"0\" key=\"1\"/>\n"
+            + "          <object_ref id=\"1\" parent=\"0\" timeline=\"2\" key=\"1\"/>\n"
+            + "        </key>\n"
+            + "      </mainline>\n"
+            + "      <timeline id=\"0\" name=\"arm\" object_type=\"bone\">\n"
+            + "        <key id=\"0\" time=\"0\"><bone x=\"10\" y=\"0\" angle=\"0\"/></key>\n"
+            + "        <key id=\"1\" time=\"500\"><bone x=\"10\" y=\"0\" angle=\"90\"/></key>\n"
+            + "      </timeline>\n"
+            + "      <timeline id=\"1\" name=\"hitbox\" object_type=\"box\">\n"
+            + "        <key id=\"0\" time=\"0\">\n"
+            + "          <object x=\"5\" y=\"0\" scale_x=\"2\" pivot_x=\"0.5\" pivot_y=\"0.5\"/>\n"
+            + "        </key>\n"
+            + "      </timeline>\n"
+            + "      <timeline id=\"2\" name=\"muzzle\" object_type=\"point\">\n"
+            + "        <key id=\"0\" time=\"0\"><object x=\"20\" y=\"0\" angle=\"0\"/></key>\n"
+            + "        <key id=\"1\" time=\"500\"><object x=\"30\" y=\"0\" angle=\"45\"/></key>\n"
+            + "      </timeline>\n"
+            + "    </animation>\n"
+            + "  </entity>\n"
+            + "</spriter_data>\n";
+
+    private Animation animation;
+
+    @Before
+    public void load() {
+        animation = new SCMLReader().load(SCML).getEntity(0).getAnimation(0);
+        animation.setPosition(100f, 50f);
+        animation.startPlay();
+    }
+
+    @Test
+    public void loadedParts() {
+        assertEquals(1, animation.getBoxes().size);
+        assertEquals(1, animation.getPoints().size);
+        assertSame(animation.getBoxes().first(), animation.getBox("hitbox"));
+        assertSame(animation.getPoints().first(), animation.getPoint("muzzle"));
+        assertNull(animation.getBox("muzzle"));
+        assertNull(animation.getPoint("arm"));
+        assertNull(animation.getBox("missing"));
+
+        BoxPart box = animation.getBox("hitbox");
+        assertEquals(40f, box.getWidth(), 0f);
+        assertEquals(20f, box.getHeight(), 0f);
+    }
+
+    @Test
+    public void tweenedInWorldCoordinates() {
+        animation.updateByTime(250f);
+
+        //the arm is halfway, at 45 degrees
+        float cos = (float) Math.cos(Math.PI / 4), sin = (float) Math.sin(Math.PI / 4);
+        BoxPart box = animation.getBox("hitbox");
+        assertTrue(box.isVisible());
+        assertEquals(110f + 5f * cos, box.getPosition().x, EPSILON);
+        assertEquals(50f + 5f * sin, box.getPosition().y, EPSILON);
+        assertEquals(45f, box.getAngle(), EPSILON);
+        assertEquals(0.5f, box.getPivotX(), 0f);
+
+        //80 by 20 around its position, along the arm
+        float[] corners = box.getCorners(new float[10], 2);
+        float x = box.getPosition().x, y = box.getPosition().y;
+        assertEquals(x - 40f * cos + 10f * sin, corners[2], EPSILON);
+        assertEquals(y - 40f * sin - 10f * cos, corners[3], EPSILON);
+        assertEquals(x + 40f * cos - 10f * sin, corners[6], EPSILON);
+        assertEquals(y + 40f * sin + 10f * cos, corners[7], EPSILON);
+
+        assertSame(box, animation.hitBox(x + 35f * cos, y + 35f * sin));
+        assertNull(animation.hitBox(x + 45f * cos, y + 45f * sin));
+        assertNull(animation.hitBox(x - 15f * sin, y + 15f * cos));
+
+        PointPart point = animation.getPoint("muzzle");
+        assertTrue(point.isVisible());
+        assertEquals(110f + 25f * cos, point.getPosition().x, EPSILON);
+        assertEquals(50f + 25f * sin, point.getPosition().y, EPSILON);
+        assertEquals(67.5f, point.getAngle(), EPSILON);
+    }
+
+    @Test
+    public void hiddenOutOfTheirKeys() {
+        animation.updateByTime(250f);
+        animation.updateByTime(700f);
+
+        //the box isn't in the second key, the arm and point stay on their last key
+        BoxPart box = animation.getBox("hitbox");
+        assertFalse(box.isVisible());
+        assertNull(animation.hitBox(box.getPosition().x, box.getPosition().y));
+
+        PointPart point = animation.getPoint("muzzle");
+        assertTrue(point.isVisible());
+        assertEquals(110f, point.getPosition().x, EPSILON);
+        assertEquals(80f, point.getPosition().y, EPSILON);
+        assertEquals(135f, point.getAngle(), EPSILON);
+    }
+}
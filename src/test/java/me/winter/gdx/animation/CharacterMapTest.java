@@ -0,0 +1,157 @@
+package me.winter.gdx.animation;
+
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.IntIntMap;
+import me.winter.gdx.animation.drawable.SpriteDrawable;
+import me.winter.gdx.animation.scml.SCMLProject;
+import me.winter.gdx.animation.scml.SCMLReader;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Checks that character maps are loaded from SCML and that drawing with them applied, stacked or not, draws like
+ * setting the mapped drawables in the keys of the entity.
+ */
+public class CharacterMapTest {
+    //file to the file replacing it, -1 to hide it
+    private static final int[][] ARMOR = { { 0, 1 }, { 1, 2 }, { 2, -1 } };
+    private static final int[][] HELMET = { { 1, 3 }, { 3, 0 } };
+
+    private final SCMLGenerator generator = new SCMLGenerator();
+
+    private SCMLProject project;
+    private Entity entity;
+
+    @Before
+    public void load() {
+        generator.setBoneDepth(0);
+        generator.setSpritesPerBone(12);
+        generator.setImages(4);
+
+        String xml = generator.generate().replace("name=\"entity0\">\n",
+                "name=\"entity0\">\n" + characterMap("armor", ARMOR) + characterMap("helmet", HELMET));
+
+        SCMLReader reader = new SCMLReader();
+        reader.setAtlas(generator.createAtlas());
+        project = reader.load(xml);
+        entity = project.getEntity(0);
+    }
+
+    @Test
+    public void loadedMaps() {
+        assertEquals(2, entity.getCharacterMaps().size);
+        assertLoaded(entity.getCharacterMap("armor"), ARMOR);
+        assertLoaded(entity.getCharacterMap("helmet"), HELMET);
+        assertNull(entity.getCharacterMap("boots"));
+
+        //the animations draw with the overrides of the entity they were loaded in
+        for (Animation animation : entity.getAnimations())
+            assertSame(entity.getOverrides(), animation.getOverrides());
+
+        Entity copy = new Entity(entity);
+        assertSame(entity.getCharacterMap("armor"), copy.getCharacterMap("armor"));
+        for (Animation animation : copy.getAnimations())
+            assertSame(copy.getOverrides(), animation.getOverrides());
+    }
+
+    @Test
+    public void stackedMapsDrawLikeReplacedDrawables() {
+        Entity mapped = new Entity(entity);
+        Animation animation = mapped.getAnimation(0);
+        animation.startPlay();
+        animation.update(17f);
+        RecordingBatch unmapped = draw(animation);
+
+        mapped.getOverrides().addCharacterMap(mapped.getCharacterMap("armor"));
+        assertDrawn(draw(replaced(ARMOR)), draw(animation));
+
+        //the map applied last wins where both map an image
+        mapped.getOverrides().addCharacterMap(mapped.getCharacterMap("helmet"));
+        RecordingBatch stacked = draw(animation);
+        assertDrawn(draw(replaced(ARMOR, HELMET)), stacked);
+        assertNotEquals(unmapped.getSprites(), stacked.getSprites());
+
+        mapped.getOverrides().removeCharacterMap(mapped.getCharacterMap("armor"));
+        assertDrawn(draw(replaced(HELMET)), draw(animation));
+
+        mapped.getOverrides().clearCharacterMaps();
+        assertDrawn(unmapped, draw(animation));
+
+        //copies keep their own maps applied
+        assertTrue(entity.getOverrides().getCharacterMaps().isEmpty());
+    }
+
+    private void assertLoaded(CharacterMap map, int[][] mappings) {
+        assertEquals(mappings.length, map.size());
+        for (int[] mapping : mappings) {
+            int index = map.indexOf(0, mapping[0]);
+            assertTrue(index >= 0);
+            if (mapping[1] == -1)
+                assertNull(map.getDrawable(index));
+            else
+                assertSame(project.getAsset(0, mapping[1]), map.getDrawable(index));
+        }
+        assertTrue(map.indexOf(1, 0) < 0);
+    }
+
+    /**
+     * @return copy of the entity updated like the mapped one, with the drawables of the given maps set in its keys
+     * the way they had to be replaced without character maps
+     */
+    private Animation replaced(int[][]... maps) {
+        IntIntMap files = new IntIntMap();
+        for (int[][] map : maps)
+            for (int[] mapping : map)
+                files.put(mapping[0], mapping[1]);
+
+        Entity copy = new Entity(entity);
+        Array<Timeline> timelines = copy.getAnimation(0).getTimelines();
+        for (int i = 0; i < timelines.size; i++) {
+            Timeline timeline = timelines.get(i);
+            int file = ((Sprite) timeline.getKeys().first().getObject()).getFile();
+            if (!files.containsKey(file))
+                continue;
+
+            int target = files.get(file, -1);
+            SpriteDrawable drawable = target != -1 ? project.getAsset(0, target) : null;
+            copy.setSpriteDrawable(timeline.getName(), drawable);
+        }
+
+        Animation animation = copy.getAnimation(0);
+        animation.startPlay();
+        animation.update(17f);
+        return animation;
+    }
+
+    private static String characterMap(String name, int[][] mappings) {
+        StringBuilder xml = new StringBuilder("    <character_map id=\"0\" name=\"").append(name).append("\">\n");
+        for (int[] mapping : mappings) {
+            xml.append("      <map folder=\"0\" file=\"").append(mapping[0]).append("\"");
+            if (mapping[1] != -1)
+                xml.append(" target_folder=\"0\" target_file=\"").append(mapping[1]).append("\"");
+            xml.append("/>\n");
+        }
+        return xml.append("    </character_map>\n").toString();
+    }
+
+    /**
+     * Checks that both batches drew the same sprites, with the same textures
+     */
+    private static void assertDrawn(RecordingBatch expected, RecordingBatch actual) {
+        assertArrayEquals(expected.getVertices().toArray(), actual.getVertices().toArray(), 0f);
+        assertEquals(expected.getTextures(), actual.getTextures());
+    }
+
+    private static RecordingBatch draw(Animation animation) {
+        RecordingBatch batch = new RecordingBatch(true);
+        animation.draw(batch);
+        return batch;
+    }
+}
@@ -0,0 +1,88 @@
+package me.winter.gdx.animation;
+
+import com.badlogic.gdx.graphics.Color;
+import me.winter.gdx.animation.drawable.AnimationSpriteDrawable;
+import me.winter.gdx.animation.scml.SCMLProject;
+import me.winter.gdx.animation.scml.SCMLReader;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Checks that {@link EntityPool} reuses freed entities with their animations and nested animations, and that freeing
+ * an entity leaves overrides shared with other entities alone.
+ */
+public class EntityPoolTest {
+    private Entity source;
+    private String timeline;
+
+    @Before
+    public void load() {
+        SCMLGenerator generator = new SCMLGenerator();
+        generator.setEntities(2);
+        generator.setBoneDepth(2);
+        generator.setSpritesPerBone(2);
+
+        SCMLReader reader = new SCMLReader();
+        reader.setAtlas(generator.createAtlas());
+        SCMLProject project = reader.load(generator.generate());
+
+        source = project.getEntity(0);
+        Animation nested = project.getEntity(1).getAnimation(0);
+        nested.startPlay();
+
+        for (Timeline timeline : source.getAnimation(0).getTimelines())
+            if (timeline.getName().startsWith("sprite"))
+                this.timeline = timeline.getName();
+
+        //set on the keys, so that it survives the overrides being cleared
+        source.setSpriteDrawable(timeline, new AnimationSpriteDrawable(nested, 1f));
+    }
+
+    @Test
+    public void obtainReusesInstances() {
+        EntityPool pool = new EntityPool(source);
+
+        Entity entity = pool.obtain();
+        Animation animation = entity.getAnimation(0);
+        animation.startPlay();
+        for (int frame = 0; frame < 10; frame++)
+            animation.update(17f);
+        Animation nested = animation.getNestedAnimation(timeline);
+        assertNotNull(nested);
+
+        pool.free(entity);
+        Entity reused = pool.obtain();
+
+        assertSame(entity, reused);
+        assertSame(animation, reused.getAnimation(0));
+        assertSame(nested, reused.getAnimation(0).getNestedAnimation(timeline));
+        assertEquals(0f, animation.getTime(), 0f);
+        assertEquals(0f, nested.getTime(), 0f);
+        assertEquals(1, pool.getCreated());
+    }
+
+    @Test
+    public void freeLeavesSharedOverridesAlone() {
+        EntityPool pool = new EntityPool(source);
+        Entity freed = pool.obtain(), alive = pool.obtain();
+        SpriteOverrides own = freed.getOverrides();
+
+        SpriteOverrides shared = new SpriteOverrides();
+        int tint = Color.rgba8888(0.5f, 1f, 0.25f, 1f);
+        shared.setTint(tint);
+        freed.setOverrides(shared);
+        alive.setOverrides(shared);
+
+        pool.free(freed);
+
+        assertEquals(tint, shared.getTint());
+        assertSame(shared, alive.getOverrides());
+        assertSame(own, freed.getOverrides());
+        assertNotSame(shared, freed.getAnimation(0).getOverrides());
+    }
+}
@@ -0,0 +1,113 @@
+package me.winter.gdx.animation;
+
+import com.badlogic.gdx.utils.Array;
+import me.winter.gdx.animation.drawable.TextureSpriteDrawable;
+import me.winter.gdx.animation.scml.SCMLProject;
+import me.winter.gdx.animation.scml.SCMLReader;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Checks that projects load without atlas from the sizes and pivots of their files, and that headless and
+ * simulation-only animations pose their parts like animations loaded with an atlas.
+ */
+public class HeadlessLoadTest {
+    private final SCMLGenerator generator = new SCMLGenerator();
+
+    public HeadlessLoadTest() {
+        generator.setBoneDepth(3);
+        generator.setSpritesPerBone(2);
+    }
+
+    @Test
+    public void assetsFromFileAttributes() {
+        SCMLProject project = new SCMLReader().load(generator.generate());
+
+        for (int i = 0; i < generator.getImages(); i++) {
+            TextureSpriteDrawable asset = project.getAsset(0, i);
+            assertNull(asset.getRegion());
+            assertEquals(32f, asset.getWidth(), 0f);
+            assertEquals(32f, asset.getHeight(), 0f);
+            assertEquals(0.5f, asset.getPivotX(), 0f);
+            assertEquals(0.5f, asset.getPivotY(), 0f);
+        }
+    }
+
+    @Test
+    public void headlessPosesLikeLoadedWithAtlas() {
+        Animation expected = load(true).getAnimation(0), actual = load(false).getAnimation(0);
+        expected.startPlay();
+        actual.startPlay();
+
+        for (int frame = 0; frame < 60; frame++) {
+            expected.update(17f);
+            actual.update(17f);
+
+            assertSameParts(expected.getParts(), actual.getParts(), true);
+            assertEquals(expected.getBounds().left, actual.getBounds().left, 0f);
+            assertEquals(expected.getBounds().top, actual.getBounds().top, 0f);
+            assertEquals(expected.getBounds().right, actual.getBounds().right, 0f);
+            assertEquals(expected.getBounds().bottom, actual.getBounds().bottom, 0f);
+        }
+    }
+
+    @Test
+    public void simulationOnlyPosesBones() {
+        Entity simulated = load(false);
+        simulated.setSimulationOnly(true);
+
+        Animation expected = load(true).getAnimation(0), actual = simulated.getAnimation(0);
+        assertTrue(actual.isSimulationOnly());
+        expected.startPlay();
+        actual.startPlay();
+
+        RecordingBatch batch = new RecordingBatch();
+        for (int frame = 0; frame < 60; frame++) {
+            expected.update(17f);
+            actual.update(17f);
+
+            assertSameParts(expected.getParts(), actual.getParts(), false);
+            for (int i = 0; i < actual.getParts().size; i++)
+                if (actual.getParts().get(i) instanceof Sprite)
+                    assertFalse(((Sprite) actual.getParts().get(i)).isVisible());
+
+            actual.draw(batch);
+        }
+        assertEquals(0, batch.getSprites());
+    }
+
+    /**
+     * Checks that parts have the same transforms, sprites included or not
+     */
+    private static void assertSameParts(Array<AnimatedPart> expected, Array<AnimatedPart> actual, boolean sprites) {
+        assertEquals(expected.size, actual.size);
+        for (int i = 0; i < expected.size; i++) {
+            AnimatedPart a = expected.get(i), b = actual.get(i);
+            if (a instanceof Sprite && !sprites)
+                continue;
+
+            assertEquals(a.getPosition().x, b.getPosition().x, 0f);
+            assertEquals(a.getPosition().y, b.getPosition().y, 0f);
+            assertEquals(a.getAngle(), b.getAngle(), 0f);
+            assertEquals(a.getScale().x, b.getScale().x, 0f);
+            assertEquals(a.getScale().y, b.getScale().y, 0f);
+
+            if (a instanceof Sprite) {
+                assertEquals(((Sprite) a).getAlpha(), ((Sprite) b).getAlpha(), 0f);
+                assertEquals(((Sprite) a).getFile(), ((Sprite) b).getFile());
+                assertEquals(((Sprite) a).isVisible(), ((Sprite) b).isVisible());
+            }
+        }
+    }
+
+    private Entity load(boolean atlas) {
+        SCMLReader reader = new SCMLReader();
+        if (atlas)
+            reader.setAtlas(generator.createAtlas());
+        return reader.load(generator.generate()).getEntity(0);
+    }
+}
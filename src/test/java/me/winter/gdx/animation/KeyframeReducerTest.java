@@ -0,0 +1,218 @@
+package me.winter.gdx.animation;
+
+import com.badlogic.gdx.utils.Array;
+import me.winter.gdx.animation.KeyframeStore.Quantization;
+import me.winter.gdx.animation.math.Curve;
+import me.winter.gdx.animation.math.Curve.CurveType;
+import me.winter.gdx.animation.scml.SCMLReader;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static me.winter.gdx.animation.math.Interpolator.linear;
+import static me.winter.gdx.animation.math.Interpolator.spinAngle;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Checks that {@link KeyframeReducer} removes the keys of linear runs, that reduced and compacted animations sample
+ * like the original within the reported errors, and that runs it can't reconstruct are left alone.
+ */
+public class KeyframeReducerTest {
+    private static final int SAMPLES = 400;
+
+    private final SCMLGenerator generator = new SCMLGenerator();
+
+    private Animation original, reduced;
+    private KeyframeReducer reducer;
+
+    @Before
+    public void load() {
+        //sprites at the root, so that sampled parts are the tweened keys without a hierarchy adding up errors
+        generator.setBoneDepth(0);
+        generator.setSpritesPerBone(8);
+        generator.setKeysPerTimeline(16);
+
+        original = linearized();
+        reduced = linearized();
+        reducer = new KeyframeReducer();
+    }
+
+    @Test
+    public void reducedSamplesWithinMaxError() {
+        int keys = countKeys(reduced);
+        int removed = reducer.reduce(reduced);
+
+        assertTrue(removed > 0);
+        assertEquals(keys - removed, countKeys(reduced));
+        assertEquals(removed, reducer.getRemovedKeyCount());
+        assertEquals(keys - removed, reducer.getKeptKeyCount());
+
+        assertTrue(reducer.getMaxPositionError() <= reducer.getPositionTolerance());
+        assertTrue(reducer.getMaxAngleError() <= reducer.getAngleTolerance());
+        assertTrue(reducer.getMaxScaleError() <= reducer.getScaleTolerance());
+        assertTrue(reducer.getMaxAlphaError() <= reducer.getAlphaTolerance());
+
+        assertSamplesWithin(reducer.getMaxPositionError(), reducer.getMaxAngleError(), reducer.getMaxScaleError(),
+                reducer.getMaxAlphaError());
+    }
+
+    @Test
+    public void reducedAndCompactedSamplesWithinMaxErrorAndQuantization() {
+        reducer.reduce(reduced);
+        for (Timeline timeline : reduced.getTimelines())
+            timeline.compact(Quantization.DEFAULT);
+
+        float position = 0f, angle = 0f, scale = 0f, alpha = 0f;
+        for (Timeline timeline : reduced.getTimelines()) {
+            KeyframeStore store = timeline.getStore();
+            position = Math.max(position, store.getPositionError());
+            angle = Math.max(angle, store.getAngleError());
+            scale = Math.max(scale, store.getScaleError());
+            alpha = Math.max(alpha, store.getAlphaError());
+        }
+
+        //16 bits over ranges of tens of pixels and degrees
+        assertTrue(position < 0.001f);
+        assertTrue(angle < 0.01f);
+
+        assertSamplesWithin(reducer.getMaxPositionError() + position, reducer.getMaxAngleError() + angle,
+                reducer.getMaxScaleError() + scale, reducer.getMaxAlphaError() + alpha);
+    }
+
+    @Test
+    public void nonLinearRunsAreLeftAlone() {
+        Timeline timeline = reduced.getTimelines().get(0);
+        Array<TimelineKey> keys = timeline.getKeys();
+        for (int i = 0; i < keys.size; i++) {
+            TimelineKey key = keys.get(i);
+            Curve curve = new Curve(CurveType.QUADRATIC);
+            curve.constraints.set(0.5f, 0f, 0f, 0f); //eases linearly, but isn't a linear curve
+            keys.set(i, withObject(key.getObject(), new TimelineKey(key.getTime(), key.getSpin(), curve)));
+        }
+
+        //a mainline key that doesn't ease linearly keeps the keys of every timeline it spans
+        Array<MainlineKey> mainlineKeys = reduced.getMainline().getKeys();
+        mainlineKeys.get(8).curve.setType(CurveType.INSTANT);
+
+        reducer.reduce(reduced);
+
+        assertEquals(generator.getKeysPerTimeline(), keys.size);
+        for (int i = 2; i < reduced.getTimelines().size; i += 2) {
+            Array<TimelineKey> reducedKeys = reduced.getTimelines().get(i).getKeys();
+            assertTrue(reducedKeys.size < generator.getKeysPerTimeline());
+            assertTrue(hasKeyAt(reducedKeys, mainlineKeys.get(8).time));
+            assertTrue(hasKeyAt(reducedKeys, mainlineKeys.get(9).time));
+        }
+    }
+
+    @Test
+    public void spinChangesAreLeftAlone() {
+        Timeline timeline = reduced.getTimelines().get(0);
+        Array<TimelineKey> keys = timeline.getKeys();
+        int spin = -keys.get(0).getSpin();
+        TimelineKey key = keys.get(5);
+        keys.set(5, withObject(key.getObject(), new TimelineKey(key.getTime(), spin, key.getCurve())));
+
+        reducer.reduce(reduced);
+
+        assertTrue(keys.size > 2);
+        assertTrue(keys.size < generator.getKeysPerTimeline());
+        for (int i = 0; i < keys.size; i++)
+            if (keys.get(i).getSpin() == spin)
+                return;
+        throw new AssertionError("The key changing spin was removed");
+    }
+
+    private void assertSamplesWithin(float position, float angle, float scale, float alpha) {
+        Pose expected = new Pose(original), actual = new Pose(reduced);
+
+        for (int i = 0; i <= SAMPLES; i++) {
+            float time = original.getLength() * i / SAMPLES;
+            original.sample(time, expected);
+            reduced.sample(time, actual);
+
+            for (int j = 0; j < expected.size(); j++) {
+                assertEquals(expected.isPresent(j), actual.isPresent(j));
+                if (!expected.isPresent(j))
+                    continue;
+
+                Sprite a = (Sprite) expected.getPart(j), b = (Sprite) actual.getPart(j);
+                assertTrue(a.getPosition().dst(b.getPosition()) <= position + 1e-4f);
+                assertEquals(0f, wrap(a.getAngle() - b.getAngle()), angle + 1e-3f);
+                assertEquals(a.getScale().x, b.getScale().x, scale + 1e-5f);
+                assertEquals(a.getScale().y, b.getScale().y, scale + 1e-5f);
+                assertEquals(a.getAlpha(), b.getAlpha(), alpha + 1e-5f);
+                assertEquals(a.getZIndex(), b.getZIndex());
+                assertEquals(a.getFile(), b.getFile());
+            }
+        }
+    }
+
+    /**
+     * @return the generated animation where every other timeline, starting with the first one, is a linear run from
+     * its first key to its last key, moved by noise under the default tolerances
+     */
+    private Animation linearized() {
+        SCMLReader reader = new SCMLReader();
+        reader.setAtlas(generator.createAtlas());
+        Animation animation = reader.load(generator.generate()).getEntity(0).getAnimation(0);
+
+        Random random = new Random(46);
+        Array<Timeline> timelines = animation.getTimelines();
+        for (int i = 0; i < timelines.size; i += 2) {
+            Array<TimelineKey> keys = timelines.get(i).getKeys();
+            TimelineKey first = keys.get(0), last = keys.get(keys.size - 1);
+            Sprite a = (Sprite) first.getObject(), b = (Sprite) last.getObject();
+
+            for (int k = 1; k < keys.size - 1; k++) {
+                TimelineKey key = keys.get(k);
+                float t = (key.getTime() - first.getTime()) / (float) (last.getTime() - first.getTime());
+
+                Sprite sprite = new Sprite((Sprite) key.getObject());
+                sprite.getPosition().set(linear(a.position.x, b.position.x, t) + noise(random, 0.004f),
+                        linear(a.position.y, b.position.y, t) + noise(random, 0.004f));
+                sprite.setAngle(spinAngle(a.angle, b.angle, t, first.getSpin()) + noise(random, 0.005f));
+                sprite.getScale().set(linear(a.scale.x, b.scale.x, t) + noise(random, 0.0005f),
+                        linear(a.scale.y, b.scale.y, t));
+                sprite.setAlpha(linear(a.getAlpha(), b.getAlpha(), t) + noise(random, 0.0005f));
+
+                keys.set(k, withObject(sprite, new TimelineKey(key.getTime(), first.getSpin(), key.getCurve())));
+            }
+        }
+        return animation;
+    }
+
+    private static TimelineKey withObject(AnimatedPart object, TimelineKey key) {
+        key.setObject(object);
+        return key;
+    }
+
+    private static float noise(Random random, float amplitude) {
+        return (random.nextFloat() * 2f - 1f) * amplitude;
+    }
+
+    private static boolean hasKeyAt(Array<TimelineKey> keys, int time) {
+        for (int i = 0; i < keys.size; i++)
+            if (keys.get(i).getTime() == time)
+                return true;
+        return false;
+    }
+
+    private static int countKeys(Animation animation) {
+        int keys = 0;
+        for (Timeline timeline : animation.getTimelines())
+            keys += timeline.getKeys().size;
+        return keys;
+    }
+
+    private static float wrap(float angle) {
+        angle %= 360f;
+        if (angle > 180f)
+            return angle - 360f;
+        if (angle < -180f)
+            return angle + 360f;
+        return angle;
+    }
+}
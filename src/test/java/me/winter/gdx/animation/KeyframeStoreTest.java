@@ -0,0 +1,154 @@
+package me.winter.gdx.animation;
+
+import com.badlogic.gdx.utils.Array;
+import me.winter.gdx.animation.KeyframeStore.Quantization;
+import me.winter.gdx.animation.scml.SCMLReader;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Checks that compact timelines decode and draw their keys exactly when lossless and within the errors of their
+ * {@link KeyframeStore} when quantized.
+ */
+public class KeyframeStoreTest {
+    private Entity original, compact;
+
+    @Before
+    public void load() {
+        original = load(new SCMLGenerator());
+        compact = load(new SCMLGenerator());
+    }
+
+    @Test
+    public void losslessRoundTrip() {
+        compact.compact(Quantization.LOSSLESS);
+
+        Array<Timeline> timelines = original.getAnimation(0).getTimelines();
+        Array<Timeline> compactTimelines = compact.getAnimation(0).getTimelines();
+        for (int i = 0; i < timelines.size; i++) {
+            Array<TimelineKey> keys = timelines.get(i).getKeys();
+            Timeline timeline = compactTimelines.get(i);
+            assertTrue(timeline.isCompact());
+
+            for (int k = 0; k < keys.size; k++) {
+                AnimatedPart expected = keys.get(k).getObject();
+                AnimatedPart actual = timeline.decode(k, timeline.getStore().getPrototype(k).clone());
+                assertSameKey(expected, actual);
+            }
+        }
+
+        Animation expected = original.getAnimation(0), actual = compact.getAnimation(0);
+        expected.startPlay();
+        actual.startPlay();
+        for (int frame = 0; frame < 60; frame++) {
+            expected.update(17f);
+            actual.update(17f);
+            assertArrayEquals(draw(expected), draw(actual), 0f);
+        }
+    }
+
+    @Test
+    public void quantizedWithinStoreErrors() {
+        compact.compact(Quantization.DEFAULT);
+
+        Array<Timeline> timelines = original.getAnimation(0).getTimelines();
+        Array<Timeline> compactTimelines = compact.getAnimation(0).getTimelines();
+        for (int i = 0; i < timelines.size; i++) {
+            Array<TimelineKey> keys = timelines.get(i).getKeys();
+            KeyframeStore store = compactTimelines.get(i).getStore();
+
+            float min = Float.POSITIVE_INFINITY, max = Float.NEGATIVE_INFINITY;
+            for (int k = 0; k < keys.size; k++) {
+                AnimatedPart expected = keys.get(k).getObject();
+                min = Math.min(min, expected.position.x);
+                max = Math.max(max, expected.position.x);
+
+                assertEquals(expected.position.x, store.getX(k), store.getPositionError());
+                assertEquals(expected.position.y, store.getY(k), store.getPositionError());
+                assertEquals(expected.angle, store.getAngle(k), store.getAngleError());
+                assertEquals(expected.scale.x, store.getScaleX(k), store.getScaleError());
+                assertEquals(expected.scale.y, store.getScaleY(k), store.getScaleError());
+                if (expected instanceof Sprite)
+                    assertEquals(((Sprite) expected).getAlpha(), store.getAlpha(k), store.getAlphaError());
+            }
+
+            //half a step of 16 bits over the range of the channel, give or take float rounding
+            for (int k = 0; k < keys.size; k++)
+                assertEquals(keys.get(k).getObject().position.x, store.getX(k), (max - min) / 65535f * 0.5f + 1e-5f);
+            assertTrue(store.getPositionError() < 0.001f);
+            assertTrue(store.getAngleError() < 0.01f);
+        }
+    }
+
+    @Test
+    public void constantChannelsAndCopies() {
+        compact.compact(Quantization.DEFAULT);
+
+        for (Timeline timeline : compact.getAnimation(0).getTimelines()) {
+            KeyframeStore store = timeline.getStore();
+            int keys = store.size();
+
+            //x, y and angle change in every timeline, bones have constant scales and alphas
+            boolean bone = timeline.getName().startsWith("bone");
+            assertEquals(bone ? 3 * 2 * keys : 5 * 2 * keys, store.getChannelBytes());
+            assertEquals(1, store.getPrototypeCount());
+        }
+
+        Entity copy = new Entity(compact);
+        Timeline timeline = compact.getAnimation(0).getTimelines().get(0);
+        Timeline copied = copy.getAnimation(0).getTimelines().get(0);
+        assertSame(timeline.getStore().getSharedChannels(), copied.getStore().getSharedChannels());
+        assertNotSame(timeline.getStore().getPrototype(0), copied.getStore().getPrototype(0));
+    }
+
+    @Test
+    public void compactingAgainChangesThePrecision() {
+        compact.compact(Quantization.DEFAULT);
+        compact.compact(Quantization.LOSSLESS);
+
+        //the second store packs the decoded keys of the first one, within its errors of the original
+        Timeline timeline = compact.getAnimation(0).getTimelines().get(0);
+        Array<TimelineKey> keys = original.getAnimation(0).getTimelines().get(0).getKeys();
+        assertEquals(0f, timeline.getStore().getPositionError(), 0f);
+        for (int k = 0; k < keys.size; k++)
+            assertEquals(keys.get(k).getObject().position.x, timeline.getStore().getX(k), 0.001f);
+    }
+
+    private static void assertSameKey(AnimatedPart expected, AnimatedPart actual) {
+        assertEquals(expected.position.x, actual.position.x, 0f);
+        assertEquals(expected.position.y, actual.position.y, 0f);
+        assertEquals(expected.angle, actual.angle, 0f);
+        assertEquals(expected.scale.x, actual.scale.x, 0f);
+        assertEquals(expected.scale.y, actual.scale.y, 0f);
+
+        if (expected instanceof Sprite) {
+            Sprite expectedSprite = (Sprite) expected, actualSprite = (Sprite) actual;
+            assertEquals(expectedSprite.getAlpha(), actualSprite.getAlpha(), 0f);
+            assertEquals(expectedSprite.getFolder(), actualSprite.getFolder());
+            assertEquals(expectedSprite.getFile(), actualSprite.getFile());
+            assertEquals(expectedSprite.getZIndex(), actualSprite.getZIndex());
+        }
+    }
+
+    private static Entity load(SCMLGenerator generator) {
+        generator.setBoneDepth(2);
+        generator.setSpritesPerBone(2);
+        generator.setKeysPerTimeline(12);
+
+        SCMLReader reader = new SCMLReader();
+        reader.setAtlas(generator.createAtlas());
+        return reader.load(generator.generate()).getEntity(0);
+    }
+
+    private static float[] draw(Animation animation) {
+        RecordingBatch batch = new RecordingBatch(true);
+        animation.draw(batch);
+        return batch.getVertices().toArray();
+    }
+}
@@ -0,0 +1,102 @@
+package me.winter.gdx.animation;
+
+import me.winter.gdx.animation.KeyframeStore.Quantization;
+import me.winter.gdx.animation.drawable.AnimationSpriteDrawable;
+import me.winter.gdx.animation.scml.SCMLProject;
+import me.winter.gdx.animation.scml.SCMLReader;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Checks that {@link MemoryFootprint} counts what copies of an entity share once and what each copy owns per copy,
+ * shared overrides and nested animations included.
+ */
+public class MemoryFootprintTest {
+    private SCMLProject project;
+    private Entity source;
+
+    @Before
+    public void load() {
+        SCMLGenerator generator = new SCMLGenerator();
+        generator.setEntities(2);
+        generator.setBoneDepth(2);
+        generator.setSpritesPerBone(2);
+
+        SCMLReader reader = new SCMLReader();
+        reader.setAtlas(generator.createAtlas());
+        project = reader.load(generator.generate());
+        source = project.getEntity(0);
+    }
+
+    @Test
+    public void copiesOnlyAddInstanceBytes() {
+        source.compact(Quantization.DEFAULT);
+        for (Animation animation : source.getAnimations())
+            animation.setTimeIndexed(true);
+
+        MemoryFootprint footprint = new MemoryFootprint().add(new Entity(source));
+        long shared = footprint.getSharedBytes(), instance = footprint.getInstanceBytes();
+        int timelines = footprint.getTimelineCount(), curves = footprint.getCurveCount();
+        assertTrue(shared > 0);
+        assertTrue(instance > 0);
+
+        //copies share the curves, channels and time indexes counted with the first one
+        footprint.add(new Entity(source)).add(new Entity(source));
+        assertEquals(shared, footprint.getSharedBytes());
+        assertEquals(3 * instance, footprint.getInstanceBytes());
+        assertEquals(3 * timelines, footprint.getTimelineCount());
+        assertEquals(curves, footprint.getCurveCount());
+        assertEquals(3, footprint.getEntityCount());
+
+        footprint.clear();
+        footprint.add(new Entity(source));
+        assertEquals(shared, footprint.getSharedBytes());
+        assertEquals(instance, footprint.getInstanceBytes());
+    }
+
+    @Test
+    public void sharedOverridesAreCountedOnce() {
+        MemoryFootprint own = new MemoryFootprint().add(new Entity(source)).add(new Entity(source));
+
+        SpriteOverrides overrides = new SpriteOverrides();
+        MemoryFootprint shared = new MemoryFootprint();
+        for (int i = 0; i < 3; i++) {
+            Entity copy = new Entity(source);
+            copy.setOverrides(overrides);
+            shared.add(copy);
+
+            //each copy still owns the overrides it was created with
+            assertEquals(own.getInstanceBytes() / 2 * (i + 1), shared.getInstanceBytes());
+            assertTrue(shared.getSharedBytes() > own.getSharedBytes());
+        }
+
+        MemoryFootprint sharedOnce = new MemoryFootprint();
+        Entity copy = new Entity(source);
+        copy.setOverrides(overrides);
+        assertEquals(shared.getSharedBytes(), sharedOnce.add(copy).getSharedBytes());
+    }
+
+    @Test
+    public void nestedCopiesAreInstanceData() {
+        Animation template = project.getEntity(1).getAnimation(0);
+        String timeline = source.getAnimation(0).getTimelines().peek().getName();
+        source.getOverrides().setDrawable(timeline, new AnimationSpriteDrawable(template, 0.5f));
+
+        Entity copy = new Entity(source);
+        long before = new MemoryFootprint().add(copy).getInstanceBytes();
+
+        Animation animation = copy.getAnimation(0);
+        animation.startPlay();
+        animation.update(17f);
+        Animation nested = animation.getNestedAnimation(timeline);
+        assertNotNull(nested);
+
+        MemoryFootprint footprint = new MemoryFootprint().add(copy);
+        assertEquals(before + new MemoryFootprint().add(nested).getInstanceBytes(), footprint.getInstanceBytes());
+        assertEquals(copy.getAnimations().size + 1, footprint.getAnimationCount());
+    }
+}
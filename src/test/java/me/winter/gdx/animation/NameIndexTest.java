@@ -0,0 +1,86 @@
+package me.winter.gdx.animation;
+
+import com.badlogic.gdx.utils.Array;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Checks that {@link NameIndex} finds the same objects as a scan comparing names after objects are added, removed,
+ * replaced and renamed.
+ */
+public class NameIndexTest {
+    private Array<Named> items;
+    private NameIndex<Named> index;
+
+    @Before
+    public void create() {
+        items = new Array<>();
+        items.add(new Named("idle"), new Named("walk"), new Named("run"));
+        index = new NameIndex<>(items, named -> named.name);
+    }
+
+    @Test
+    public void lookups() {
+        assertEquals(0, index.indexOf("idle"));
+        assertEquals(2, index.indexOf("run"));
+        assertEquals(-1, index.indexOf("jump"));
+        assertEquals(-1, index.indexOf(null));
+
+        items.add(new Named("jump"));
+        assertEquals(3, index.indexOf("jump"));
+
+        items.removeIndex(0);
+        assertEquals(-1, index.indexOf("idle"));
+        assertEquals(1, index.indexOf("run"));
+    }
+
+    @Test
+    public void replace() {
+        assertEquals(1, index.indexOf("walk"));
+
+        items.set(1, new Named("crawl"));
+        assertEquals(-1, index.indexOf("walk"));
+        assertEquals(1, index.indexOf("crawl"));
+
+        //a name nothing had before is only found once reindexed
+        index.indexOf("idle");
+        items.set(2, new Named("sprint"));
+        index.reindex();
+        assertEquals(2, index.indexOf("sprint"));
+        assertEquals(-1, index.indexOf("run"));
+    }
+
+    @Test
+    public void rename() {
+        assertEquals(0, index.indexOf("idle"));
+
+        items.get(0).name = "stand";
+        assertEquals(-1, index.indexOf("idle"));
+
+        index.reindex();
+        assertEquals(0, index.indexOf("stand"));
+    }
+
+    @Test
+    public void duplicates() {
+        items.add(new Named("walk"));
+        assertEquals(1, index.indexOf("walk"));
+
+        items.set(1, new Named("crawl"));
+        assertEquals(3, index.indexOf("walk"));
+
+        items.set(1, new Named("walk"));
+        index.reindex();
+        assertEquals(1, index.indexOf("walk"));
+    }
+
+    private static class Named {
+        private String name;
+
+        private Named(String name) {
+            this.name = name;
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package me.winter.gdx.animation;
+
+import me.winter.gdx.animation.drawable.AnimationSpriteDrawable;
+import me.winter.gdx.animation.scml.SCMLProject;
+import me.winter.gdx.animation.scml.SCMLReader;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Checks that copies of an entity drawing a sprite with the same {@link AnimationSpriteDrawable} each play their own
+ * copy of the nested animation.
+ */
+public class NestedAnimationTest {
+    private Entity entity;
+    private Animation template;
+    private String timeline;
+
+    @Before
+    public void load() {
+        SCMLGenerator generator = new SCMLGenerator();
+        generator.setEntities(2);
+        generator.setBoneDepth(2);
+        generator.setSpritesPerBone(2);
+
+        SCMLReader reader = new SCMLReader();
+        reader.setAtlas(generator.createAtlas());
+        SCMLProject project = reader.load(generator.generate());
+
+        entity = project.getEntity(0);
+        template = project.getEntity(1).getAnimation(0);
+        template.startPlay();
+
+        for (Timeline timeline : entity.getAnimation(0).getTimelines())
+            if (timeline.getName().startsWith("sprite"))
+                this.timeline = timeline.getName();
+
+        entity.getOverrides().setDrawable(timeline, new AnimationSpriteDrawable(template, 0.5f));
+    }
+
+    @Test
+    public void copiesPlayTheirOwnNestedAnimation() {
+        Entity first = new Entity(entity), second = new Entity(entity);
+        Entity firstAlone = alone(), secondAlone = alone();
+
+        place(first, 0f, 0f);
+        place(firstAlone, 0f, 0f);
+        place(second, 400f, -250f);
+        place(secondAlone, 400f, -250f);
+
+        for (int frame = 0; frame < 40; frame++) {
+            for (Entity copy : new Entity[] { first, second, firstAlone, secondAlone })
+                copy.getAnimation(0).update(17f);
+
+            float[] firstVertices = draw(first), secondVertices = draw(second);
+
+            assertArrayEquals(draw(firstAlone), firstVertices, 0f);
+            assertArrayEquals(draw(secondAlone), secondVertices, 0f);
+            assertFalse(Arrays.equals(firstVertices, secondVertices));
+        }
+
+        //the template itself is left untouched
+        assertEquals(0f, template.getTime(), 0f);
+    }
+
+    @Test
+    public void nestedAnimationsFollowUpdatesByTime() {
+        Entity byDelta = new Entity(entity), byTime = new Entity(entity);
+        place(byDelta, 0f, 0f);
+        place(byTime, 0f, 0f);
+
+        float time = 0f;
+        for (int frame = 0; frame < 40; frame++) {
+            time += 17f;
+            byDelta.getAnimation(0).update(17f);
+            byTime.getAnimation(0).updateByTime(time);
+
+            assertArrayEquals(draw(byDelta), draw(byTime), 0f);
+        }
+
+        assertEquals(byDelta.getAnimation(0).getNestedAnimation(timeline).getTime(),
+                byTime.getAnimation(0).getNestedAnimation(timeline).getTime(), 0f);
+        assertNotEquals(0f, byTime.getAnimation(0).getNestedAnimation(timeline).getTime(), 0f);
+    }
+
+    @Test
+    public void nestedAnimationsCanBeControlled() {
+        Entity copy = new Entity(entity);
+        place(copy, 0f, 0f);
+        copy.getAnimation(0).update(17f);
+
+        Animation nested = copy.getAnimation(0).getNestedAnimation(timeline);
+        assertNotNull(nested);
+        assertNotSame(template, nested);
+
+        nested.pausePlay();
+        float time = nested.getTime();
+        for (int frame = 0; frame < 10; frame++)
+            copy.getAnimation(0).update(17f);
+
+        assertSame(nested, copy.getAnimation(0).getNestedAnimation(timeline));
+        assertEquals(time, nested.getTime(), 0f);
+    }
+
+    @Test
+    public void swappedDrawablesReuseOrReplaceTheCopy() {
+        Entity copy = new Entity(entity);
+        place(copy, 0f, 0f);
+        copy.getAnimation(0).update(17f);
+        Animation nested = copy.getAnimation(0).getNestedAnimation(timeline);
+
+        //same template at another scale, the copy keeps playing
+        copy.getOverrides().setDrawable(timeline, new AnimationSpriteDrawable(template, 2f));
+        copy.getAnimation(0).update(17f);
+        assertSame(nested, copy.getAnimation(0).getNestedAnimation(timeline));
+
+        //another template replaces the copy instead of keeping both
+        Animation other = new Animation(template);
+        copy.getOverrides().setDrawable(timeline, new AnimationSpriteDrawable(other, 1f));
+        copy.getAnimation(0).update(17f);
+        Animation replaced = copy.getAnimation(0).getNestedAnimation(timeline);
+        assertNotSame(nested, replaced);
+        assertNotSame(other, replaced);
+
+        copy.getOverrides().setDrawable(timeline, null);
+        assertNull(copy.getAnimation(0).getNestedAnimation(timeline));
+    }
+
+    /**
+     * @return a copy of the entity with a drawable of its own, so that no other copy can touch its nested animation
+     */
+    private Entity alone() {
+        Animation nested = new Animation(template);
+        nested.startPlay();
+
+        Entity copy = new Entity(entity);
+        copy.getOverrides().setDrawable(timeline, new AnimationSpriteDrawable(nested, 0.5f));
+        return copy;
+    }
+
+    private static void place(Entity entity, float x, float y) {
+        Animation animation = entity.getAnimation(0);
+        animation.setPosition(x, y);
+        animation.startPlay();
+    }
+
+    private static float[] draw(Entity entity) {
+        RecordingBatch batch = new RecordingBatch(true);
+        entity.getAnimation(0).draw(batch);
+        return batch.getVertices().toArray();
+    }
+}
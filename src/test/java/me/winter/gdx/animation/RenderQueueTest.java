@@ -0,0 +1,138 @@
+package me.winter.gdx.animation;
+
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.utils.FloatArray;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Checks that {@link RenderQueue} renders its commands in the order of a stable sort by layer, depth, z-index and
+ * texture, with values out of the range of their field and more textures than it numbers.
+ */
+public class RenderQueueTest {
+    private static final int MAX_TEXTURE_ID = 4095;
+
+    private final Random random = new Random(33);
+
+    @Test
+    public void sortedByLayerDepthZIndexAndTexture() {
+        RenderQueue queue = new RenderQueue(16);
+        Texture[] textures = textures(12);
+
+        //rendering clears the queue and the numbers of the textures, the second round starts anew
+        for (int round = 0; round < 2; round++) {
+            List<Command> commands = new ArrayList<>();
+            for (int i = 0; i < 3000; i++)
+                commands.add(new Command(random.nextInt(4) - 2, random.nextInt(6), random.nextInt(8) - 4,
+                        textures[random.nextInt(textures.length)], random.nextInt(10) == 0));
+            assertRendered(queue, commands);
+        }
+    }
+
+    @Test
+    public void valuesOutOfRangeAreClamped() {
+        RenderQueue queue = new RenderQueue();
+        Texture[] textures = textures(3);
+
+        int[] layers = { Integer.MIN_VALUE, -32769, -32768, 0, 32767, 32768, Integer.MAX_VALUE };
+        int[] depths = { Integer.MIN_VALUE, -(1 << 23) - 1, -(1 << 23), 0, (1 << 23) - 1, 1 << 23, Integer.MAX_VALUE };
+        int[] zIndices = { Integer.MIN_VALUE, -2049, -2048, 0, 2047, 2048, Integer.MAX_VALUE };
+
+        List<Command> commands = new ArrayList<>();
+        for (int i = 0; i < 1000; i++)
+            commands.add(new Command(layers[random.nextInt(layers.length)], depths[random.nextInt(depths.length)],
+                    zIndices[random.nextInt(zIndices.length)], textures[random.nextInt(textures.length)], false));
+        assertRendered(queue, commands);
+    }
+
+    @Test
+    public void moreTexturesThanNumbered() {
+        RenderQueue queue = new RenderQueue();
+        Texture[] textures = textures(MAX_TEXTURE_ID + 1000);
+
+        //past the last number, textures are only kept in the order they were added in
+        List<Command> commands = new ArrayList<>();
+        for (Texture texture : textures)
+            commands.add(new Command(0, 0, 0, texture, false));
+        for (int i = 0; i < 4000; i++)
+            commands.add(new Command(0, random.nextInt(2), 0, textures[random.nextInt(textures.length)], false));
+        assertRendered(queue, commands);
+    }
+
+    /**
+     * Adds the commands to the queue, each with its index as vertices, renders it and checks the order of the sprites
+     * against a stable sort of the commands
+     */
+    private static void assertRendered(RenderQueue queue, List<Command> commands) {
+        Map<Texture, Integer> textureIds = new IdentityHashMap<>();
+        for (int i = 0; i < commands.size(); i++) {
+            Command command = commands.get(i);
+            command.index = i;
+
+            int offset;
+            if (command.ordered) {
+                offset = queue.addOrdered(command.layer, command.depth, command.zIndex, command.texture);
+            } else {
+                offset = queue.add(command.layer, command.depth, command.zIndex, command.texture);
+                textureIds.putIfAbsent(command.texture, Math.min(textureIds.size(), MAX_TEXTURE_ID));
+                command.textureId = textureIds.get(command.texture);
+            }
+
+            for (int j = 0; j < 20; j++)
+                queue.getVertices()[offset + j] = i;
+        }
+        assertEquals(commands.size(), queue.size());
+
+        List<Command> expected = new ArrayList<>(commands);
+        expected.sort(Comparator.<Command>comparingInt(command -> clamp(command.layer, 16))
+                .thenComparingInt(command -> clamp(command.depth, 24))
+                .thenComparingInt(command -> clamp(command.zIndex, 12))
+                .thenComparingInt(command -> command.textureId));
+
+        RecordingBatch batch = new RecordingBatch(true);
+        queue.render(batch);
+        assertEquals(0, queue.size());
+
+        FloatArray vertices = batch.getVertices();
+        assertEquals(commands.size() * 20, vertices.size);
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).index, (int) vertices.get(i * 20));
+            assertSame(expected.get(i).texture, batch.getTextures().get(i));
+        }
+    }
+
+    private static int clamp(int value, int bits) {
+        return Math.max(-(1 << bits - 1), Math.min((1 << bits - 1) - 1, value));
+    }
+
+    private static Texture[] textures(int count) {
+        Texture[] textures = new Texture[count];
+        for (int i = 0; i < count; i++)
+            textures[i] = SCMLGenerator.createTexture(16, 16);
+        return textures;
+    }
+
+    private static class Command {
+        final int layer, depth, zIndex;
+        final Texture texture;
+        final boolean ordered;
+        int index, textureId;
+
+        Command(int layer, int depth, int zIndex, Texture texture, boolean ordered) {
+            this.layer = layer;
+            this.depth = depth;
+            this.zIndex = zIndex;
+            this.texture = texture;
+            this.ordered = ordered;
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package me.winter.gdx.animation;
+
+import com.badlogic.gdx.utils.Array;
+import me.winter.gdx.animation.math.Curve.CurveType;
+import me.winter.gdx.animation.scml.SCMLReader;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Checks that {@link Animation#sample(float, Pose)} can be called from many threads on the same animation: every
+ * thread gets the pose sampled on a single thread, and the animation itself is left untouched.
+ */
+public class SampleConcurrencyTest {
+    private static final int THREADS = 8, TIMES = 256, ROUNDS = 20;
+
+    private Animation animation;
+
+    @Before
+    public void load() {
+        SCMLGenerator generator = new SCMLGenerator();
+        generator.setBoneDepth(3);
+        generator.setSpritesPerBone(2);
+        generator.setKeysPerTimeline(16);
+        generator.setCurveWeight(CurveType.LINEAR, 1f);
+        generator.setCurveWeight(CurveType.BEZIER, 1f);
+        generator.setCurveWeight(CurveType.CUBIC, 1f);
+        generator.setZSwapFrequency(0.5f);
+
+        SCMLReader reader = new SCMLReader();
+        reader.setAtlas(generator.createAtlas());
+        animation = reader.load(generator.generate()).getEntity(0).getAnimation(0);
+    }
+
+    @Test
+    public void sampleFromManyThreads() throws Exception {
+        assertSameAsSingleThreaded();
+    }
+
+    @Test
+    public void sampleTimeIndexedFromManyThreads() throws Exception {
+        animation.setTimeIndexed(true);
+        assertSameAsSingleThreaded();
+    }
+
+    private void assertSameAsSingleThreaded() throws Exception {
+        animation.setPosition(40f, -10f);
+        animation.setAngle(15f);
+        animation.startPlay();
+        animation.update(animation.getLength() / 3f);
+
+        float[] times = new float[TIMES];
+        for (int i = 0; i < TIMES; i++)
+            times[i] = i * animation.getLength() * 2f / TIMES; //past the length to sample wrapped times too
+
+        //sample on another copy so that lazily built curves and indices are first built by the threads
+        Animation reference = new Animation(animation);
+        Pose[] expected = new Pose[TIMES];
+        for (int i = 0; i < TIMES; i++) {
+            expected[i] = new Pose(reference);
+            reference.sample(times[i], expected[i]);
+        }
+
+        float time = animation.getTime();
+        byte[] snapshot = snapshot(animation);
+        Array<AnimatedPart> parts = new Array<>();
+        for (AnimatedPart part : animation.getParts())
+            parts.add(part != null ? part.clone() : null);
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<?>> results = new ArrayList<>();
+
+            for (int thread = 0; thread < THREADS; thread++) {
+                int first = thread;
+                results.add(executor.submit((Callable<Void>) () -> {
+                    Pose pose = new Pose(animation);
+                    start.await();
+
+                    for (int round = 0; round < ROUNDS; round++) {
+                        for (int i = 0; i < TIMES; i++) {
+                            int sample = (first * 31 + i) % TIMES;
+                            animation.sample(times[sample], pose);
+                            assertSamePose(expected[sample], pose);
+                        }
+                    }
+                    return null;
+                }));
+            }
+
+            start.countDown();
+            for (Future<?> result : results) {
+                try {
+                    result.get();
+                } catch (ExecutionException ex) {
+                    if (ex.getCause() instanceof AssertionError)
+                        throw (AssertionError) ex.getCause();
+                    throw ex;
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(time, animation.getTime(), 0f);
+        assertArrayEquals(snapshot, snapshot(animation));
+        for (int i = 0; i < parts.size; i++)
+            if (parts.get(i) != null)
+                assertSamePart(parts.get(i), animation.getParts().get(i), true);
+    }
+
+    private static byte[] snapshot(Animation animation) {
+        ByteBuffer buffer = ByteBuffer.allocate(animation.getSnapshotSize());
+        animation.snapshot(buffer);
+        return buffer.array();
+    }
+
+    private static void assertSamePose(Pose expected, Pose actual) {
+        assertEquals(expected.getMainlineKey(), actual.getMainlineKey());
+
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.isPresent(i), actual.isPresent(i));
+            if (expected.isPresent(i))
+                assertSamePart(expected.getPart(i), actual.getPart(i), false);
+        }
+    }
+
+    /**
+     * @param visibility whether to compare the visibility of sprites, which poses leave to {@link Pose#isPresent(int)}
+     */
+    private static void assertSamePart(AnimatedPart expected, AnimatedPart actual, boolean visibility) {
+        assertEquals(expected.getPosition().x, actual.getPosition().x, 0f);
+        assertEquals(expected.getPosition().y, actual.getPosition().y, 0f);
+        assertEquals(expected.getScale().x, actual.getScale().x, 0f);
+        assertEquals(expected.getScale().y, actual.getScale().y, 0f);
+        assertEquals(expected.getAngle(), actual.getAngle(), 0f);
+
+        if (expected instanceof Sprite) {
+            Sprite expectedSprite = (Sprite) expected, actualSprite = (Sprite) actual;
+            assertEquals(expectedSprite.getAlpha(), actualSprite.getAlpha(), 0f);
+            assertEquals(expectedSprite.getZIndex(), actualSprite.getZIndex());
+            if (visibility)
+                assertEquals(expectedSprite.isVisible(), actualSprite.isVisible());
+            assertSame(expectedSprite.getDrawable(), actualSprite.getDrawable());
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package me.winter.gdx.animation;
+
+import com.badlogic.gdx.utils.Array;
+import me.winter.gdx.animation.math.Curve.CurveType;
+import me.winter.gdx.animation.scml.SCMLReader;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Checks that sampling a single timeline gives the transform a full update gives its part at the same time, without
+ * changing the playback state of the sampled animation.
+ */
+public class SampleTimelineTest {
+    private Entity source;
+
+    @Before
+    public void load() {
+        SCMLGenerator generator = new SCMLGenerator();
+        generator.setBoneDepth(4);
+        generator.setBoneFanOut(2);
+        generator.setSpritesPerBone(1);
+        generator.setCurveWeight(CurveType.BEZIER, 1f);
+
+        SCMLReader reader = new SCMLReader();
+        reader.setAtlas(generator.createAtlas());
+        source = reader.load(generator.generate()).getEntity(0);
+    }
+
+    @Test
+    public void samplesMatchUpdates() {
+        Animation sampled = place(new Entity(source).getAnimation(0));
+        Animation updated = place(new Entity(source).getAnimation(0));
+        Array<Timeline> timelines = sampled.getTimelines();
+
+        AnimatedPart out = new AnimatedPart();
+        for (int time = 0; time < sampled.getLength() * 2; time += 37) {
+            updated.updateByTime(time);
+
+            for (int i = 0; i < timelines.size; i++) {
+                Timeline timeline = timelines.get(i);
+                assertTrue(sampled.sampleTimeline(timeline.getName(), time, out));
+                assertSamePart(updated.getParts().get(timeline.getId()), out);
+            }
+        }
+
+        assertFalse(sampled.sampleTimeline("missing", 0f, out));
+    }
+
+    @Test
+    public void lookAheadLeavesPlaybackAlone() {
+        Animation sampled = place(new Entity(source).getAnimation(0));
+        Animation playing = place(new Entity(source).getAnimation(0));
+
+        AnimatedPart out = new AnimatedPart();
+        String hand = sampled.getTimelines().peek().getName();
+        for (int frame = 0; frame < 120; frame++) {
+            sampled.update(17f);
+            playing.update(17f);
+
+            //where the last timeline will be in 200ms
+            assertTrue(sampled.sampleTimeline(hand, sampled.getTime() + 200f, out));
+
+            assertEquals(playing.getTime(), sampled.getTime(), 0f);
+            for (int i = 0; i < playing.getParts().size; i++)
+                assertSamePart(playing.getParts().get(i), sampled.getParts().get(i));
+        }
+    }
+
+    private static Animation place(Animation animation) {
+        animation.setPosition(30f, -12f);
+        animation.setAngle(25f);
+        animation.setScale(1.5f, -0.75f);
+        animation.startPlay();
+        animation.update(0f);
+        return animation;
+    }
+
+    private static void assertSamePart(AnimatedPart expected, AnimatedPart actual) {
+        assertEquals(expected.getPosition().x, actual.getPosition().x, 0f);
+        assertEquals(expected.getPosition().y, actual.getPosition().y, 0f);
+        assertEquals(expected.getAngle(), actual.getAngle(), 0f);
+        assertEquals(expected.getScale().x, actual.getScale().x, 0f);
+        assertEquals(expected.getScale().y, actual.getScale().y, 0f);
+    }
+}
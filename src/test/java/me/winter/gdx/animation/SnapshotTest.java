@@ -0,0 +1,112 @@
+package me.winter.gdx.animation;
+
+import com.badlogic.gdx.graphics.Color;
+import me.winter.gdx.animation.drawable.AnimationSpriteDrawable;
+import me.winter.gdx.animation.scml.SCMLProject;
+import me.winter.gdx.animation.scml.SCMLReader;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Checks that restoring a snapshot of an animation in another copy of its entity, nested animations included, makes
+ * the copy draw and play exactly like the original, and that restoring leaves the overrides shared with other
+ * animations alone.
+ */
+public class SnapshotTest {
+    private Entity entity;
+
+    @Before
+    public void load() {
+        SCMLGenerator generator = new SCMLGenerator();
+        generator.setEntities(2);
+        generator.setAnimations(2);
+        generator.setBoneDepth(2);
+        generator.setSpritesPerBone(2);
+        generator.setZSwapFrequency(0.5f);
+
+        SCMLReader reader = new SCMLReader();
+        reader.setAtlas(generator.createAtlas());
+        SCMLProject project = reader.load(generator.generate());
+
+        entity = project.getEntity(0);
+
+        Animation nested = project.getEntity(1).getAnimation(0);
+        nested.startPlay();
+        nested.setSpeed(1.5f);
+
+        for (Timeline timeline : entity.getAnimation(0).getTimelines())
+            if (timeline.getName().startsWith("sprite"))
+                entity.getOverrides().setDrawable(timeline.getName(), new AnimationSpriteDrawable(nested, 0.75f));
+    }
+
+    @Test
+    public void roundTrip() {
+        Color tint = new Color(0.5f, 0.75f, 1f, 0.8f);
+        Entity original = new Entity(entity);
+        Animation animation = original.getAnimation(0);
+        original.getOverrides().setTint(tint);
+        animation.setPosition(120f, 45f);
+        animation.setAngle(20f);
+        animation.setAlpha(0.9f);
+        animation.setSpeed(0.8f);
+        animation.startPlay();
+
+        for (int frame = 0; frame < 25; frame++)
+            animation.update(17f);
+
+        ByteBuffer buffer = ByteBuffer.allocate(animation.getSnapshotSize());
+        animation.snapshot(buffer);
+        assertEquals(0, buffer.remaining());
+        buffer.flip();
+
+        //overrides are the state of the entity, not part of the snapshot
+        Entity copy = new Entity(entity);
+        copy.getOverrides().setTint(tint);
+        Animation restored = copy.getAnimation(0);
+        restored.restore(buffer);
+        assertEquals(0, buffer.remaining());
+
+        assertEquals(animation.getTime(), restored.getTime(), 0f);
+        assertArrayEquals(draw(animation), draw(restored), 0f);
+
+        for (int frame = 0; frame < 40; frame++) {
+            animation.update(17f);
+            restored.update(17f);
+            assertArrayEquals(draw(animation), draw(restored), 0f);
+        }
+    }
+
+    @Test
+    public void restoreLeavesSharedOverridesAlone() {
+        Entity copy = new Entity(entity);
+        Animation animation = copy.getAnimation(0), sibling = copy.getAnimation(1);
+        copy.getOverrides().setTint(new Color(1f, 0.5f, 0.5f, 1f));
+        animation.startPlay();
+        sibling.startPlay();
+        animation.update(100f);
+        sibling.update(100f);
+
+        ByteBuffer buffer = ByteBuffer.allocate(animation.getSnapshotSize());
+        animation.snapshot(buffer);
+        buffer.flip();
+
+        int tint = Color.rgba8888(0.25f, 1f, 0.5f, 0.6f);
+        copy.getOverrides().setTint(tint);
+        float[] siblingVertices = draw(sibling);
+
+        animation.restore(buffer);
+        assertEquals(tint, copy.getOverrides().getTint());
+        assertArrayEquals(siblingVertices, draw(sibling), 0f);
+    }
+
+    private static float[] draw(Animation animation) {
+        RecordingBatch batch = new RecordingBatch(true);
+        animation.draw(batch);
+        return batch.getVertices().toArray();
+    }
+}
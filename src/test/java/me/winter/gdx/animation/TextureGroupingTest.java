@@ -0,0 +1,162 @@
+package me.winter.gdx.animation;
+
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.FloatArray;
+import me.winter.gdx.animation.drawable.TextureSpriteDrawable;
+import me.winter.gdx.animation.drawable.VertexSpriteDrawable;
+import me.winter.gdx.animation.scml.SCMLReader;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Checks that grouping sprites by texture draws the same sprites with fewer texture switches, in the order of their
+ * z-index wherever they overlap, and that {@link Animation#getTextureSwitches()} counts the switches of the batch.
+ */
+public class TextureGroupingTest {
+    private static final int SIZE = VertexSpriteDrawable.SPRITE_SIZE;
+
+    private final List<Texture> textures = new ArrayList<>();
+
+    @Test
+    public void smallSpritesAreGrouped() {
+        Animation ungrouped = load(2), grouped = load(2);
+        grouped.setTextureGrouping(true);
+
+        int saved = 0;
+        for (int frame = 0; frame < 60; frame++) {
+            ungrouped.update(17f);
+            grouped.update(17f);
+
+            RecordingBatch expected = draw(ungrouped), actual = draw(grouped);
+            assertEquals(expected.getTextureSwitches(), ungrouped.getTextureSwitches());
+            assertEquals(0, ungrouped.getTextureSwitchesSaved());
+            assertEquals(actual.getTextureSwitches(), grouped.getTextureSwitches());
+            assertEquals(expected.getTextureSwitches() - actual.getTextureSwitches(),
+                    grouped.getTextureSwitchesSaved());
+            assertTrue(actual.getTextureSwitches() <= expected.getTextureSwitches());
+
+            assertReordered(expected, actual);
+            saved += grouped.getTextureSwitchesSaved();
+        }
+
+        //a few pixels wide sprites spread on 20 pixels, most of them can move
+        assertTrue(saved > 60 * 3);
+    }
+
+    @Test
+    public void overlappingSpritesAreNotGrouped() {
+        Animation ungrouped = load(64), grouped = load(64);
+        grouped.setTextureGrouping(true);
+
+        for (int frame = 0; frame < 60; frame++) {
+            ungrouped.update(17f);
+            grouped.update(17f);
+
+            RecordingBatch expected = draw(ungrouped), actual = draw(grouped);
+            assertEquals(0, grouped.getTextureSwitchesSaved());
+            assertEquals(expected.getTextureSwitches(), actual.getTextureSwitches());
+            assertEquals(expected.getVertices(), actual.getVertices());
+        }
+    }
+
+    /**
+     * Checks that both batches drew the same sprites, keeping the order of every pair of sprites that overlap
+     */
+    private static void assertReordered(RecordingBatch expected, RecordingBatch actual) {
+        FloatArray expectedVertices = expected.getVertices(), actualVertices = actual.getVertices();
+        assertEquals(expectedVertices.size, actualVertices.size);
+
+        int count = expectedVertices.size / SIZE;
+        int[] moved = new int[count];
+        boolean[] found = new boolean[count];
+        for (int i = 0; i < count; i++) {
+            int index = indexOf(expectedVertices, actualVertices, i, found);
+            assertTrue("sprite " + i + " isn't drawn", index != -1);
+            assertSame(expected.getTextures().get(i), actual.getTextures().get(index));
+            found[index] = true;
+            moved[i] = index;
+        }
+
+        for (int i = 0; i < count; i++)
+            for (int j = i + 1; j < count; j++)
+                if (overlaps(expectedVertices, i, j))
+                    assertTrue("sprites " + i + " and " + j + " swapped", moved[i] < moved[j]);
+    }
+
+    private static int indexOf(FloatArray expected, FloatArray actual, int sprite, boolean[] found) {
+        float[] vertices = Arrays.copyOfRange(expected.items, sprite * SIZE, sprite * SIZE + SIZE);
+        for (int i = 0; i < found.length; i++)
+            if (!found[i] && Arrays.equals(vertices, Arrays.copyOfRange(actual.items, i * SIZE, i * SIZE + SIZE)))
+                return i;
+        return -1;
+    }
+
+    private static boolean overlaps(FloatArray vertices, int a, int b) {
+        float[] boundsA = bounds(vertices, a), boundsB = bounds(vertices, b);
+        return boundsA[0] < boundsB[2] && boundsB[0] < boundsA[2] && boundsA[1] < boundsB[3] && boundsB[1] < boundsA[3];
+    }
+
+    /**
+     * @return left, bottom, right and top of the quad of a sprite
+     */
+    private static float[] bounds(FloatArray vertices, int sprite) {
+        float[] bounds = { Float.POSITIVE_INFINITY, Float.POSITIVE_INFINITY,
+                Float.NEGATIVE_INFINITY, Float.NEGATIVE_INFINITY };
+        for (int i = sprite * SIZE; i < sprite * SIZE + SIZE; i += SIZE / 4) {
+            bounds[0] = Math.min(bounds[0], vertices.get(i));
+            bounds[1] = Math.min(bounds[1], vertices.get(i + 1));
+            bounds[2] = Math.max(bounds[2], vertices.get(i));
+            bounds[3] = Math.max(bounds[3], vertices.get(i + 1));
+        }
+        return bounds;
+    }
+
+    /**
+     * @return animation of sprites at the root, drawn with square regions of the given size on three textures,
+     * alternating by timeline so that drawing them by z-index switches texture often. Animations loaded with the
+     * same size share their textures.
+     */
+    private Animation load(int size) {
+        SCMLGenerator generator = new SCMLGenerator();
+        generator.setBoneDepth(0);
+        generator.setSpritesPerBone(24);
+
+        SCMLReader reader = new SCMLReader();
+        reader.setAtlas(generator.createAtlas());
+        Entity entity = reader.load(generator.generate()).getEntity(0);
+
+        if (textures.isEmpty() || textures.get(0).getWidth() != size) {
+            textures.clear();
+            for (int i = 0; i < 3; i++)
+                textures.add(SCMLGenerator.createTexture(size, size));
+        }
+
+        Array<Timeline> timelines = entity.getAnimation(0).getTimelines();
+        for (int i = 0; i < timelines.size; i++) {
+            TextureRegion region = new TextureRegion(textures.get(i % textures.size()));
+            TextureSpriteDrawable drawable = new TextureSpriteDrawable(region, 0.5f, 0.5f);
+            entity.getOverrides().setDrawable(timelines.get(i).getName(), drawable);
+        }
+
+        Animation animation = entity.getAnimation(0);
+        assertFalse(animation.isTextureGrouping());
+        animation.startPlay();
+        return animation;
+    }
+
+    private static RecordingBatch draw(Animation animation) {
+        RecordingBatch batch = new RecordingBatch(true);
+        animation.draw(batch);
+        return batch;
+    }
+}
@@ -0,0 +1,86 @@
+package me.winter.gdx.animation;
+
+import com.badlogic.gdx.graphics.Color;
+import me.winter.gdx.animation.drawable.SpriteVertexBuffer;
+import me.winter.gdx.animation.math.Curve.CurveType;
+import me.winter.gdx.animation.scml.SCMLReader;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Checks that drawing through a {@link SpriteVertexBuffer} sends the batch the same vertices and textures as drawing
+ * each sprite with {@link com.badlogic.gdx.graphics.g2d.Batch#draw}.
+ */
+public class VertexDrawTest {
+    private Entity entity;
+
+    @Before
+    public void load() {
+        SCMLGenerator generator = new SCMLGenerator();
+        generator.setBoneDepth(3);
+        generator.setSpritesPerBone(3);
+        generator.setKeysPerTimeline(12);
+        generator.setCurveWeight(CurveType.BEZIER, 1f);
+        generator.setZSwapFrequency(0.5f);
+
+        SCMLReader reader = new SCMLReader();
+        reader.setAtlas(generator.createAtlas());
+        entity = reader.load(generator.generate()).getEntity(0);
+    }
+
+    @Test
+    public void sameVerticesAsBatchDraw() {
+        Animation animation = entity.getAnimation(0);
+        animation.setPosition(120f, -35f);
+        animation.setAngle(30f);
+        animation.setScale(1.5f, 0.75f);
+        animation.setAlpha(0.8f);
+        animation.startPlay();
+
+        for (int frame = 0; frame < 60; frame++) {
+            animation.update(17f);
+            assertSameDraw(animation);
+        }
+    }
+
+    @Test
+    public void sameVerticesWithOverridesAndGrouping() {
+        SpriteOverrides overrides = new SpriteOverrides();
+        overrides.setTint(new Color(0.5f, 1f, 0.25f, 0.9f));
+        overrides.setTint("sprite7", new Color(1f, 0f, 0f, 0.5f));
+        entity.setOverrides(overrides);
+
+        Animation animation = entity.getAnimation(0);
+        animation.setTextureGrouping(true);
+        animation.startPlay();
+
+        for (int frame = 0; frame < 60; frame++) {
+            animation.update(17f);
+            assertSameDraw(animation);
+        }
+    }
+
+    private static void assertSameDraw(Animation animation) {
+        RecordingBatch expected = new RecordingBatch(true), actual = new RecordingBatch(true);
+        expected.setColor(0.9f, 0.8f, 1f, 0.7f);
+        actual.setColor(0.9f, 0.8f, 1f, 0.7f);
+
+        animation.draw(expected);
+        animation.draw(actual, new SpriteVertexBuffer(4));
+
+        assertTrue(expected.getSprites() > 0);
+        assertEquals(expected.getSprites(), actual.getSprites());
+        assertArrayEquals(expected.getVertices().toArray(), actual.getVertices().toArray(), 0f);
+
+        assertEquals(expected.getTextures().size, actual.getTextures().size);
+        for (int i = 0; i < expected.getTextures().size; i++)
+            assertSame(expected.getTextures().get(i), actual.getTextures().get(i));
+
+        assertEquals(expected.getPackedColor(), actual.getPackedColor(), 0f);
+    }
+}
@@ -0,0 +1,187 @@
+package me.winter.gdx.animation.math;
+
+import me.winter.gdx.animation.math.Curve.CurveType;
+import org.junit.Test;
+
+import static me.winter.gdx.animation.math.Interpolator.bezier;
+import static me.winter.gdx.animation.math.Interpolator.cubic;
+import static me.winter.gdx.animation.math.Interpolator.linear;
+import static me.winter.gdx.animation.math.Interpolator.quadratic;
+import static me.winter.gdx.animation.math.Interpolator.quartic;
+import static me.winter.gdx.animation.math.Interpolator.quintic;
+import static me.winter.gdx.animation.math.Interpolator.solveCubic;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Checks the evaluators of {@link Curve} against the interpolation they replace.
+ */
+public class CurveTest {
+    private static final int STEPS = 1000;
+
+    //ease, ease-in, ease-out, overshooting back and vertical tangents
+    private static final float[][] BEZIER_CONSTRAINTS = {
+            { 0.25f, 0.1f, 0.25f, 1f },
+            { 0.42f, 0f, 1f, 1f },
+            { 0f, 0f, 0.58f, 1f },
+            { 0.68f, -0.55f, 0.265f, 1.55f },
+            { 0f, 1f, 1f, 0f },
+            { 1f, 0f, 0f, 1f },
+    };
+
+    @Test
+    public void instantAndLinear() {
+        Curve curve = new Curve(CurveType.INSTANT);
+        for (int i = 0; i <= STEPS; i++) {
+            float value = (float) i / STEPS;
+            assertEquals(-40f, curve.interpolate(-40f, 250f, value), 0f);
+            assertEquals(30f, curve.interpolateAngle(30f, 90f, value, 1), 0f);
+        }
+
+        curve.setType(CurveType.LINEAR);
+        for (int i = 0; i <= STEPS; i++) {
+            float value = (float) i / STEPS;
+            assertEquals(linear(-40f, 250f, value), curve.interpolate(-40f, 250f, value), 0f);
+            assertEquals(value, curve.getEvaluator().ease(value), 0f);
+        }
+    }
+
+    @Test
+    public void rangesEaseLikeSingleWeights() {
+        for (CurveType type : CurveType.values()) {
+            Curve curve = new Curve(type);
+            curve.constraints.set(0.3f, 0.8f, 0.1f, 0.6f);
+
+            float[] values = new float[STEPS + 3];
+            for (int i = 0; i < values.length; i++)
+                values[i] = (float) i / (values.length - 1);
+            float[] eased = values.clone();
+            curve.ease(eased, 1, values.length - 2);
+
+            assertEquals(type.name(), values[0], eased[0], 0f);
+            assertEquals(type.name(), values[values.length - 1], eased[values.length - 1], 0f);
+            for (int i = 1; i < values.length - 1; i++)
+                assertEquals(type.name(), curve.ease(values[i]), eased[i], 0f);
+        }
+    }
+
+    @Test
+    public void changingTheTypeChangesTheEvaluator() {
+        Curve curve = new Curve(CurveType.LINEAR);
+        curve.constraints.set(0.2f, 0.9f, 0.4f, 1f);
+
+        for (CurveType type : CurveType.values()) {
+            curve.setType(type);
+            Curve expected = new Curve(type);
+            expected.constraints.set(0.2f, 0.9f, 0.4f, 1f);
+
+            for (int i = 0; i <= 10; i++)
+                assertEquals(type.name(), expected.ease(i / 10f), curve.ease(i / 10f), 0f);
+        }
+    }
+
+    @Test
+    public void polynomialsMatchInterpolator() {
+        float[][] constraints = { { 0f, 0f, 0f, 0f }, { 0.2f, 0.9f, 0.4f, 1f }, { -0.5f, 1.5f, 2f, -1f } };
+        CurveType[] types = { CurveType.QUADRATIC, CurveType.CUBIC, CurveType.QUARTIC, CurveType.QUINTIC };
+
+        for (CurveType type : types) {
+            for (float[] c : constraints) {
+                Curve curve = new Curve(type);
+                curve.constraints.set(c[0], c[1], c[2], c[3]);
+
+                for (int i = 0; i <= STEPS; i++) {
+                    float value = (float) i / STEPS;
+                    assertEquals(switched(type, c, -40f, 250f, value), curve.interpolate(-40f, 250f, value), 1e-3f);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void bezierTableWithinEasingError() {
+        for (float[] constraints : BEZIER_CONSTRAINTS) {
+            Curve curve = new Curve(CurveType.BEZIER);
+            curve.constraints.set(constraints[0], constraints[1], constraints[2], constraints[3]);
+
+            //the error is measured on a grid, peaks between its points are slightly higher
+            float error = curve.getEasingError() * 1.05f + 1e-5f;
+            assertTrue(error < 0.12f);
+
+            for (int i = 0; i <= STEPS; i++) {
+                float value = (float) i / STEPS;
+                assertEquals(exactBezier(constraints, value), curve.ease(value), error);
+
+                float solved = solvedBezier(constraints, value);
+                if (!Float.isNaN(solved))
+                    assertEquals(solved, curve.ease(value), error);
+            }
+        }
+    }
+
+    @Test
+    public void bezierRefinementLowersTheError() {
+        Curve curve = new Curve(CurveType.BEZIER);
+        curve.constraints.set(0f, 1f, 1f, 0f);
+        float error = curve.getEasingError();
+
+        curve.setBezierRefinement(8);
+        assertTrue(curve.getEasingError() < error);
+        assertNotEquals(0f, error, 0f);
+    }
+
+    /**
+     * @return value interpolated by the switch on the curve type evaluators replaced, for polynomial curves
+     */
+    private static float switched(CurveType type, float[] c, float a, float b, float value) {
+        switch (type) {
+            case QUADRATIC:
+                return quadratic(a, linear(a, b, c[0]), b, value);
+            case CUBIC:
+                return cubic(a, linear(a, b, c[0]), linear(a, b, c[1]), b, value);
+            case QUARTIC:
+                return quartic(a, linear(a, b, c[0]), linear(a, b, c[1]), linear(a, b, c[2]), b, value);
+            case QUINTIC:
+                return quintic(a, linear(a, b, c[0]), linear(a, b, c[1]), linear(a, b, c[2]), linear(a, b, c[3]), b,
+                        value);
+            default:
+                throw new IllegalArgumentException("Not a polynomial curve: " + type);
+        }
+    }
+
+    /**
+     * @return ratio of a bezier curve eased by solving x(t) = value by bisection in double precision
+     */
+    private static double exactBezier(float[] constraints, float value) {
+        double low = 0.0, high = 1.0;
+        for (int i = 0; i < 60; i++) {
+            double t = (low + high) * 0.5;
+            if (unitBezier(t, constraints[0], constraints[2]) < value)
+                low = t;
+            else
+                high = t;
+        }
+        return unitBezier((low + high) * 0.5, constraints[1], constraints[3]);
+    }
+
+    /**
+     * @return ratio of a bezier curve eased with {@link Interpolator#solveCubic(float, float, float, float)}, like
+     * curves did before evaluators, or NaN where it found no solution or a wrong one, which it does for most curves
+     */
+    private static float solvedBezier(float[] constraints, float value) {
+        float c1 = constraints[0], c2 = constraints[1], c3 = constraints[2], c4 = constraints[3];
+        float t = solveCubic(3f * (c1 - c3) + 1f, 3f * (c3 - 2f * c1), 3f * c1, -value);
+        if (t == -1 || Math.abs(bezier(t, 0f, c1, c3, 1f) - value) > 1e-5f)
+            return Float.NaN;
+        return bezier(t, 0f, c2, c4, 1f);
+    }
+
+    /**
+     * @return coordinate of a bezier curve from 0 to 1 with the given coordinates of its control points
+     */
+    private static double unitBezier(double t, double p1, double p2) {
+        double u = 1.0 - t;
+        return 3.0 * u * u * t * p1 + 3.0 * u * t * t * p2 + t * t * t;
+    }
+}
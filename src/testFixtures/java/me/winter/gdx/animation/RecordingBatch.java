@@ -0,0 +1,344 @@
+package me.winter.gdx.animation;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.graphics.glutils.ShaderProgram;
+import com.badlogic.gdx.math.Affine2;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.Matrix4;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.FloatArray;
+import me.winter.gdx.animation.drawable.VertexSpriteDrawable;
+
+/**
+ * Batch drawing nothing, to test and benchmark drawing without a GL context. It counts the sprites and texture switches
+ * and sums a coordinate of each sprite, so that the work of the caller can't be optimized away. If enabled, it also
+ * records the vertices and texture of each sprite, computing the vertices of regions like {@link
+ * com.badlogic.gdx.graphics.g2d.SpriteBatch}. Other draw calls aren't used by animations and aren't recorded.
+ */
+public class RecordingBatch implements Batch {
+    private final Color color = new Color(1f, 1f, 1f, 1f);
+    private float packedColor = Color.WHITE_FLOAT_BITS;
+    private final Matrix4 projection = new Matrix4(), transform = new Matrix4();
+
+    private final boolean recording;
+    private final FloatArray vertices = new FloatArray();
+    private final Array<Texture> textures = new Array<>();
+
+    private Texture lastTexture;
+    private int sprites, textureSwitches;
+    private float checksum;
+
+    public RecordingBatch() {
+        this(false);
+    }
+
+    /**
+     * @param recording true to record the vertices and texture of each sprite
+     */
+    public RecordingBatch(boolean recording) {
+        this.recording = recording;
+    }
+
+    public void reset() {
+        lastTexture = null;
+        sprites = 0;
+        textureSwitches = 0;
+        checksum = 0f;
+        vertices.clear();
+        textures.clear();
+    }
+
+    private void record(Texture texture, float x, int count) {
+        if (texture != lastTexture) {
+            lastTexture = texture;
+            textureSwitches++;
+        }
+        sprites += count;
+        checksum += x;
+    }
+
+    public int getSprites() {
+        return sprites;
+    }
+
+    public int getTextureSwitches() {
+        return textureSwitches;
+    }
+
+    public float getChecksum() {
+        return checksum;
+    }
+
+    /**
+     * @return vertices of the sprites drawn since the last reset, {@link VertexSpriteDrawable#SPRITE_SIZE} per sprite
+     */
+    public FloatArray getVertices() {
+        return vertices;
+    }
+
+    /**
+     * @return texture of each sprite drawn since the last reset
+     */
+    public Array<Texture> getTextures() {
+        return textures;
+    }
+
+    @Override
+    public void draw(Texture texture, float[] spriteVertices, int offset, int count) {
+        record(texture, spriteVertices[offset], count / VertexSpriteDrawable.SPRITE_SIZE);
+
+        if (!recording)
+            return;
+
+        vertices.addAll(spriteVertices, offset, count);
+        for (int i = 0; i < count / VertexSpriteDrawable.SPRITE_SIZE; i++)
+            textures.add(texture);
+    }
+
+    @Override
+    public void draw(TextureRegion region, float x, float y, float originX, float originY, float width, float height, float scaleX, float scaleY, float rotation) {
+        record(region.getTexture(), x + rotation, 1);
+
+        if (recording)
+            recordRegion(region, x, y, originX, originY, width, height, scaleX, scaleY, rotation);
+    }
+
+    /**
+     * Records the vertices {@link com.badlogic.gdx.graphics.g2d.SpriteBatch} computes for a region
+     */
+    private void recordRegion(TextureRegion region, float x, float y, float originX, float originY, float width, float height, float scaleX, float scaleY, float rotation) {
+        float worldOriginX = x + originX;
+        float worldOriginY = y + originY;
+        float fx = -originX;
+        float fy = -originY;
+        float fx2 = width - originX;
+        float fy2 = height - originY;
+
+        if (scaleX != 1 || scaleY != 1) {
+            fx *= scaleX;
+            fy *= scaleY;
+            fx2 *= scaleX;
+            fy2 *= scaleY;
+        }
+
+        float x1, y1, x2, y2, x3, y3, x4, y4;
+
+        if (rotation != 0) {
+            float cos = MathUtils.cosDeg(rotation);
+            float sin = MathUtils.sinDeg(rotation);
+
+            x1 = cos * fx - sin * fy;
+            y1 = sin * fx + cos * fy;
+
+            x2 = cos * fx - sin * fy2;
+            y2 = sin * fx + cos * fy2;
+
+            x3 = cos * fx2 - sin * fy2;
+            y3 = sin * fx2 + cos * fy2;
+
+            x4 = x1 + (x3 - x2);
+            y4 = y3 - (y2 - y1);
+        } else {
+            x1 = fx;
+            y1 = fy;
+            x2 = fx;
+            y2 = fy2;
+            x3 = fx2;
+            y3 = fy2;
+            x4 = fx2;
+            y4 = fy;
+        }
+
+        x1 += worldOriginX;
+        y1 += worldOriginY;
+        x2 += worldOriginX;
+        y2 += worldOriginY;
+        x3 += worldOriginX;
+        y3 += worldOriginY;
+        x4 += worldOriginX;
+        y4 += worldOriginY;
+
+        float u = region.getU();
+        float v = region.getV2();
+        float u2 = region.getU2();
+        float v2 = region.getV();
+
+        vertices.addAll(x1, y1, packedColor, u, v);
+        vertices.addAll(x2, y2, packedColor, u, v2);
+        vertices.addAll(x3, y3, packedColor, u2, v2);
+        vertices.addAll(x4, y4, packedColor, u2, v);
+        textures.add(region.getTexture());
+    }
+
+    @Override
+    public void draw(TextureRegion region, float x, float y, float originX, float originY, float width, float height, float scaleX, float scaleY, float rotation, boolean clockwise) {
+        record(region.getTexture(), x + rotation, 1);
+    }
+
+    @Override
+    public void draw(TextureRegion region, float width, float height, Affine2 transform) {
+        record(region.getTexture(), transform.m02, 1);
+    }
+
+    @Override
+    public void draw(TextureRegion region, float x, float y) {
+        record(region.getTexture(), x, 1);
+    }
+
+    @Override
+    public void draw(TextureRegion region, float x, float y, float width, float height) {
+        record(region.getTexture(), x, 1);
+    }
+
+    @Override
+    public void draw(Texture texture, float x, float y, float originX, float originY, float width, float height, float scaleX, float scaleY, float rotation, int srcX, int srcY, int srcWidth, int srcHeight, boolean flipX, boolean flipY) {
+        record(texture, x + rotation, 1);
+    }
+
+    @Override
+    public void draw(Texture texture, float x, float y, float width, float height, int srcX, int srcY, int srcWidth, int srcHeight, boolean flipX, boolean flipY) {
+        record(texture, x, 1);
+    }
+
+    @Override
+    public void draw(Texture texture, float x, float y, int srcX, int srcY, int srcWidth, int srcHeight) {
+        record(texture, x, 1);
+    }
+
+    @Override
+    public void draw(Texture texture, float x, float y, float width, float height, float u, float v, float u2, float v2) {
+        record(texture, x, 1);
+    }
+
+    @Override
+    public void draw(Texture texture, float x, float y) {
+        record(texture, x, 1);
+    }
+
+    @Override
+    public void draw(Texture texture, float x, float y, float width, float height) {
+        record(texture, x, 1);
+    }
+
+    @Override
+    public void setColor(Color tint) {
+        color.set(tint);
+        packedColor = tint.toFloatBits();
+    }
+
+    @Override
+    public void setColor(float r, float g, float b, float a) {
+        color.set(r, g, b, a);
+        packedColor = color.toFloatBits();
+    }
+
+    @Override
+    public Color getColor() {
+        return color;
+    }
+
+    @Override
+    public void setPackedColor(float packedColor) {
+        Color.abgr8888ToColor(color, packedColor);
+        this.packedColor = packedColor;
+    }
+
+    @Override
+    public float getPackedColor() {
+        return packedColor;
+    }
+
+    @Override
+    public void begin() {
+    }
+
+    @Override
+    public void end() {
+    }
+
+    @Override
+    public void flush() {
+    }
+
+    @Override
+    public void disableBlending() {
+    }
+
+    @Override
+    public void enableBlending() {
+    }
+
+    @Override
+    public void setBlendFunction(int srcFunc, int dstFunc) {
+    }
+
+    @Override
+    public void setBlendFunctionSeparate(int srcFuncColor, int dstFuncColor, int srcFuncAlpha, int dstFuncAlpha) {
+    }
+
+    @Override
+    public int getBlendSrcFunc() {
+        return 0;
+    }
+
+    @Override
+    public int getBlendDstFunc() {
+        return 0;
+    }
+
+    @Override
+    public int getBlendSrcFuncAlpha() {
+        return 0;
+    }
+
+    @Override
+    public int getBlendDstFuncAlpha() {
+        return 0;
+    }
+
+    @Override
+    public Matrix4 getProjectionMatrix() {
+        return projection;
+    }
+
+    @Override
+    public Matrix4 getTransformMatrix() {
+        return transform;
+    }
+
+    @Override
+    public void setProjectionMatrix(Matrix4 projection) {
+        this.projection.set(projection);
+    }
+
+    @Override
+    public void setTransformMatrix(Matrix4 transform) {
+        this.transform.set(transform);
+    }
+
+    @Override
+    public void setShader(ShaderProgram shader) {
+    }
+
+    @Override
+    public ShaderProgram getShader() {
+        return null;
+    }
+
+    @Override
+    public boolean isBlendingEnabled() {
+        return true;
+    }
+
+    @Override
+    public boolean isDrawing() {
+        return true;
+    }
+
+    @Override
+    public void dispose() {
+    }
+}
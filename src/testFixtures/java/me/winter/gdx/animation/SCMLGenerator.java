@@ -0,0 +1,488 @@
+package me.winter.gdx.animation;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.TextureData;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.utils.XmlReader;
+import com.badlogic.gdx.utils.XmlReader.Element;
+import me.winter.gdx.animation.math.Curve.CurveType;
+
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * Generates synthetic SCML projects of any size to benchmark and stress test loading and playback. Projects are read by
+ * {@link me.winter.gdx.animation.scml.SCMLReader} with the stub atlas of {@link #createAtlas()}, which needs no GL
+ * context. The same settings and seed always generate the same project.
+ * <p>
+ * Each animation has a tree of bones, <code>boneDepth</code> levels deep where every bone has <code>boneFanOut</code>
+ * children, and <code>spritesPerBone</code> sprites on each bone. Without bones, the sprites are at the root. Every
+ * timeline has its keys at the same regular times, each one referenced by a mainline key. Keys pick their curve
+ * following the weights of the curve mix and, at each mainline key, two sprites swap their z-index with the z-swap
+ * frequency as probability.
+ */
+public class SCMLGenerator {
+    private int entities = 1, animations = 1;
+    private int boneDepth = 3, boneFanOut = 2, spritesPerBone = 1;
+    private int keysPerTimeline = 8, length = 1000, images = 16;
+    private final float[] curveWeights = new float[CurveType.values().length];
+    private float zSwapFrequency = 0f;
+    private long seed = 42L;
+
+    private final StringBuilder xml = new StringBuilder();
+    private Random random;
+    private int[] zIndices = new int[0];
+
+    public SCMLGenerator() {
+        curveWeights[CurveType.LINEAR.ordinal()] = 1f;
+    }
+
+    /**
+     * @return SCML of the project
+     */
+    public String generate() {
+        random = new Random(seed);
+        xml.setLength(0);
+
+        xml.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
+        xml.append("<spriter_data scml_version=\"1.0\" generator=\"SCMLGenerator\">\n");
+        xml.append("  <folder id=\"0\" name=\"images\">\n");
+        for (int i = 0; i < images; i++)
+            xml.append("    <file id=\"").append(i).append("\" name=\"images/").append(getImageName(i))
+                    .append(".png\" width=\"32\" height=\"32\" pivot_x=\"0.5\" pivot_y=\"0.5\"/>\n");
+        xml.append("  </folder>\n");
+
+        for (int e = 0; e < entities; e++) {
+            xml.append("  <entity id=\"").append(e).append("\" name=\"entity").append(e).append("\">\n");
+            for (int a = 0; a < animations; a++)
+                appendAnimation(a);
+            xml.append("  </entity>\n");
+        }
+
+        xml.append("</spriter_data>\n");
+
+        String result = xml.toString();
+        xml.setLength(0);
+        return result;
+    }
+
+    /**
+     * @return root element of the project, as {@link me.winter.gdx.animation.scml.SCMLReader#load(Element)} takes it
+     */
+    public Element generateElement() {
+        return new XmlReader().parse(generate());
+    }
+
+    /**
+     * Writes the project to a file
+     *
+     * @param file file to write, overwritten if it exists
+     */
+    public void write(FileHandle file) {
+        file.writeString(generate(), false, "UTF-8");
+    }
+
+    private void appendAnimation(int id) {
+        int bones = getBoneCount();
+        int sprites = getSpriteCount();
+
+        if (zIndices.length < sprites)
+            zIndices = new int[sprites];
+        for (int i = 0; i < sprites; i++)
+            zIndices[i] = i;
+
+        xml.append("    <animation id=\"").append(id).append("\" name=\"animation").append(id)
+                .append("\" length=\"").append(length).append("\" interval=\"100\">\n");
+
+        xml.append("      <mainline>\n");
+        for (int k = 0; k < keysPerTimeline; k++) {
+            if (k > 0 && sprites > 1 && random.nextFloat() < zSwapFrequency) {
+                int first = random.nextInt(sprites), second = random.nextInt(sprites - 1);
+                if (second >= first)
+                    second++;
+
+                int tmp = zIndices[first];
+                zIndices[first] = zIndices[second];
+                zIndices[second] = tmp;
+            }
+
+            xml.append("        <key id=\"").append(k).append("\" time=\"").append(getKeyTime(k)).append("\">\n");
+            for (int b = 0; b < bones; b++) {
+                xml.append("          <bone_ref id=\"").append(b).append("\"");
+                if (b > 0)
+                    xml.append(" parent=\"").append(getParentBone(b)).append("\"");
+                xml.append(" timeline=\"").append(b).append("\" key=\"").append(k).append("\"/>\n");
+            }
+            for (int s = 0; s < sprites; s++) {
+                xml.append("          <object_ref id=\"").append(bones + s).append("\"");
+                if (bones > 0)
+                    xml.append(" parent=\"").append(s / spritesPerBone).append("\"");
+                xml.append(" timeline=\"").append(bones + s).append("\" key=\"").append(k)
+                        .append("\" z_index=\"").append(zIndices[s]).append("\"/>\n");
+            }
+            xml.append("        </key>\n");
+        }
+        xml.append("      </mainline>\n");
+
+        for (int t = 0; t < bones + sprites; t++)
+            appendTimeline(t, t < bones);
+
+        xml.append("    </animation>\n");
+    }
+
+    private void appendTimeline(int id, boolean bone) {
+        xml.append("      <timeline id=\"").append(id).append("\" name=\"").append(bone ? "bone" : "sprite")
+                .append(id).append(bone ? "\" object_type=\"bone\">\n" : "\">\n");
+
+        int file = random.nextInt(images);
+        float x = bone ? 40f : random.nextFloat() * 20f - 10f;
+        float y = bone ? 0f : random.nextFloat() * 20f - 10f;
+        float angle = random.nextFloat() * 360f;
+
+        for (int k = 0; k < keysPerTimeline; k++) {
+            float nextAngle = angle + random.nextFloat() * 90f - 45f;
+            int spin = nextAngle >= angle ? 1 : -1;
+            angle = wrap(angle);
+
+            xml.append("        <key id=\"").append(k).append("\" time=\"").append(getKeyTime(k)).append("\"");
+            if (spin != 1)
+                xml.append(" spin=\"").append(spin).append("\"");
+            appendCurve();
+            xml.append(">\n");
+
+            if (bone)
+                xml.append("          <bone");
+            else
+                xml.append("          <object folder=\"0\" file=\"").append(file).append("\"");
+
+            xml.append(" x=\"").append(format(x)).append("\" y=\"").append(format(y))
+                    .append("\" angle=\"").append(format(angle)).append("\"");
+
+            if (!bone) {
+                xml.append(" scale_x=\"").append(format(0.75f + random.nextFloat() * 0.5f)).append("\"");
+                xml.append(" a=\"").append(format(0.5f + random.nextFloat() * 0.5f)).append("\"");
+            }
+            xml.append("/>\n");
+            xml.append("        </key>\n");
+
+            x += random.nextFloat() * 4f - 2f;
+            y += random.nextFloat() * 4f - 2f;
+            angle = nextAngle;
+        }
+
+        xml.append("      </timeline>\n");
+    }
+
+    private void appendCurve() {
+        CurveType type = pickCurve();
+        if (type == CurveType.LINEAR)
+            return;
+
+        xml.append(" curve_type=\"").append(type.name().toLowerCase(Locale.ENGLISH)).append("\"");
+        if (type == CurveType.INSTANT)
+            return;
+
+        int constraints = type == CurveType.BEZIER ? 4 : type.ordinal() - CurveType.LINEAR.ordinal();
+        for (int i = 1; i <= constraints; i++)
+            xml.append(" c").append(i).append("=\"").append(format(random.nextFloat())).append("\"");
+    }
+
+    private CurveType pickCurve() {
+        float total = 0f;
+        for (int i = 0; i < curveWeights.length; i++)
+            total += curveWeights[i];
+
+        float value = random.nextFloat() * total;
+        for (int i = 0; i < curveWeights.length; i++) {
+            value -= curveWeights[i];
+            if (value < 0f && curveWeights[i] > 0f)
+                return CurveType.values()[i];
+        }
+        return CurveType.LINEAR;
+    }
+
+    private int getKeyTime(int key) {
+        return (int) ((long) key * length / keysPerTimeline);
+    }
+
+    /**
+     * @return index of the parent of a bone, bones being numbered level by level
+     */
+    private int getParentBone(int bone) {
+        return (bone - 1) / boneFanOut;
+    }
+
+    private static float wrap(float angle) {
+        angle %= 360f;
+        return angle < 0f ? angle + 360f : angle;
+    }
+
+    private static String format(float value) {
+        return String.format(Locale.ENGLISH, "%.3f", value);
+    }
+
+    /**
+     * @return amount of bones in each animation
+     */
+    public int getBoneCount() {
+        int bones = 0, level = 1;
+        for (int i = 0; i < boneDepth; i++) {
+            bones += level;
+            level *= boneFanOut;
+        }
+        return bones;
+    }
+
+    /**
+     * @return amount of sprites in each animation
+     */
+    public int getSpriteCount() {
+        return Math.max(getBoneCount(), 1) * spritesPerBone;
+    }
+
+    /**
+     * Creates an atlas with a region for each image of the generated projects, on 2 textures without GL handle. Loading
+     * a project with it gives sprites real regions to draw, in batches that don't render.
+     *
+     * @return stub atlas
+     */
+    public TextureAtlas createAtlas() {
+        TextureAtlas atlas = new TextureAtlas();
+        Texture[] textures = { createTexture(256, 256), createTexture(256, 256) };
+
+        for (int i = 0; i < images; i++)
+            atlas.addRegion(getImageName(i), textures[i % 2], (i / 2) % 8 * 32, (i / 16) % 8 * 32, 32, 32);
+        return atlas;
+    }
+
+    private static String getImageName(int image) {
+        return "image" + image;
+    }
+
+    /**
+     * Creates a texture without GL handle nor pixels, enough for regions and batches that don't render
+     *
+     * @param width  width of the texture
+     * @param height height of the texture
+     * @return stub texture
+     */
+    public static Texture createTexture(int width, int height) {
+        return new Texture(GL20.GL_TEXTURE_2D, 0, new StubTextureData(width, height)) {
+            //without GL, loading is skipped and the texture never gets its data
+            @Override
+            public void load(TextureData data) {
+            }
+
+            @Override
+            public int getWidth() {
+                return width;
+            }
+
+            @Override
+            public int getHeight() {
+                return height;
+            }
+        };
+    }
+
+    public int getEntities() {
+        return entities;
+    }
+
+    public void setEntities(int entities) {
+        this.entities = entities;
+    }
+
+    public int getAnimations() {
+        return animations;
+    }
+
+    public void setAnimations(int animations) {
+        this.animations = animations;
+    }
+
+    public int getBoneDepth() {
+        return boneDepth;
+    }
+
+    /**
+     * @param boneDepth levels of the bone tree, 0 for animations of sprites only
+     */
+    public void setBoneDepth(int boneDepth) {
+        this.boneDepth = boneDepth;
+    }
+
+    public int getBoneFanOut() {
+        return boneFanOut;
+    }
+
+    /**
+     * @param boneFanOut amount of children of the bones above the last level
+     */
+    public void setBoneFanOut(int boneFanOut) {
+        if (boneFanOut < 1)
+            throw new IllegalArgumentException("Bones need at least one child: " + boneFanOut);
+
+        this.boneFanOut = boneFanOut;
+    }
+
+    public int getSpritesPerBone() {
+        return spritesPerBone;
+    }
+
+    public void setSpritesPerBone(int spritesPerBone) {
+        this.spritesPerBone = spritesPerBone;
+    }
+
+    public int getKeysPerTimeline() {
+        return keysPerTimeline;
+    }
+
+    public void setKeysPerTimeline(int keysPerTimeline) {
+        if (keysPerTimeline < 1 || keysPerTimeline > length)
+            throw new IllegalArgumentException("Keys per timeline must be between 1 and the length: " + keysPerTimeline);
+
+        this.keysPerTimeline = keysPerTimeline;
+    }
+
+    public int getLength() {
+        return length;
+    }
+
+    /**
+     * @param length length of the animations in milliseconds, as displayed in Spriter
+     */
+    public void setLength(int length) {
+        if (length < keysPerTimeline)
+            throw new IllegalArgumentException("Length must leave room for the keys: " + length);
+
+        this.length = length;
+    }
+
+    public int getImages() {
+        return images;
+    }
+
+    public void setImages(int images) {
+        if (images < 1)
+            throw new IllegalArgumentException("Projects need at least one image: " + images);
+
+        this.images = images;
+    }
+
+    public float getCurveWeight(CurveType type) {
+        return curveWeights[type.ordinal()];
+    }
+
+    /**
+     * Sets the weight of a curve type in the mix, keys picking a type with a probability proportional to its weight.
+     * Only {@link CurveType#LINEAR} has a weight by default.
+     *
+     * @param type   curve type
+     * @param weight weight of the type, 0 to never pick it
+     */
+    public void setCurveWeight(CurveType type, float weight) {
+        if (weight < 0f)
+            throw new IllegalArgumentException("Curve weights can't be negative: " + weight);
+
+        curveWeights[type.ordinal()] = weight;
+    }
+
+    public float getZSwapFrequency() {
+        return zSwapFrequency;
+    }
+
+    /**
+     * @param zSwapFrequency probability that two sprites swap their z-index at each mainline key, from 0 to 1
+     */
+    public void setZSwapFrequency(float zSwapFrequency) {
+        this.zSwapFrequency = zSwapFrequency;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+
+    private static class StubTextureData implements TextureData {
+        private final int width, height;
+
+        StubTextureData(int width, int height) {
+            this.width = width;
+            this.height = height;
+        }
+
+        @Override
+        public TextureDataType getType() {
+            return TextureDataType.Custom;
+        }
+
+        @Override
+        public boolean isPrepared() {
+            return true;
+        }
+
+        @Override
+        public void prepare() {
+        }
+
+        @Override
+        public Pixmap consumePixmap() {
+            return null;
+        }
+
+        @Override
+        public boolean disposePixmap() {
+            return false;
+        }
+
+        @Override
+        public void consumeCustomData(int target) {
+        }
+
+        @Override
+        public int getWidth() {
+            return width;
+        }
+
+        @Override
+        public int getHeight() {
+            return height;
+        }
+
+        @Override
+        public Pixmap.Format getFormat() {
+            return Pixmap.Format.RGBA8888;
+        }
+
+        @Override
+        public boolean useMipMaps() {
+            return false;
+        }
+
+        @Override
+        public boolean isManaged() {
+            return false;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "SCMLGenerator{" +
+                "entities=" + entities +
+                ", animations=" + animations +
+                ", boneDepth=" + boneDepth +
+                ", boneFanOut=" + boneFanOut +
+                ", spritesPerBone=" + spritesPerBone +
+                ", keysPerTimeline=" + keysPerTimeline +
+                ", zSwapFrequency=" + zSwapFrequency +
+                ", seed=" + seed +
+                '}';
+    }
+}